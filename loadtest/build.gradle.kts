@@ -0,0 +1,23 @@
+/*
+ * Standalone load generation harness for async (cf) validators. Not a part of the library artifact.
+ * Run with e.g.: ./gradlew :loadtest:run --args="--scenario=nested --rate=20000 --duration=60"
+ */
+
+plugins {
+    java
+    application
+}
+
+repositories {
+    jcenter()
+}
+
+dependencies {
+    implementation(project(":"))
+    implementation("org.hdrhistogram:HdrHistogram:2.1.11")
+}
+
+application {
+    mainClassName = "dsinczak.fp.validation.loadtest.LoadTest"
+    applicationDefaultJvmArgs = listOf("-Xms1g", "-Xmx1g")
+}
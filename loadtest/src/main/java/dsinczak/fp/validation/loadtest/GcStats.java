@@ -0,0 +1,123 @@
+package dsinczak.fp.validation.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.HdrHistogram.Histogram;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recorder of GC activity during the run, based on notifications sent by garbage collectors after every collection:
+ * collection counts and times per collector, pause percentiles and allocation rate.
+ * Bytes allocated between two collections are heap usage before the later collection minus heap usage after the
+ * earlier one (heap usage at start and end of recording close the first and last interval), so allocation rate is
+ * measured for all threads including ones that finished during the run. Collections of concurrent collectors
+ * reported as cycles (e.g. ZGC) are not pauses and are left out of pause percentiles.
+ */
+final class GcStats implements NotificationListener {
+
+    private final Set<String> heapPools = new HashSet<>();
+    private final Map<String, long[]> collectors = new LinkedHashMap<>();
+    private final Histogram pauseMillis = new Histogram(3);
+    private final long startNanos = System.nanoTime();
+    private long allocatedBytes;
+    private long usedAfterLastCollection = heapUsed();
+
+    private GcStats() {
+    }
+
+    /**
+     * @return recorder receiving notifications from now until {@link #stop()}
+     */
+    static GcStats start() {
+        var stats = new GcStats();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                stats.heapPools.add(pool.getName());
+            }
+        }
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            stats.collectors.put(collector.getName(), new long[2]);
+            ((NotificationEmitter) collector).addNotificationListener(stats, null, null);
+        }
+        return stats;
+    }
+
+    @Override
+    public synchronized void handleNotification(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        var collector = collectors.computeIfAbsent(info.getGcName(), name -> new long[2]);
+        var millis = info.getGcInfo().getDuration();
+        collector[0]++;
+        collector[1] += millis;
+        if (!info.getGcAction().contains("cycle")) {
+            pauseMillis.recordValue(millis);
+        }
+        allocatedBytes += Math.max(0, used(info.getGcInfo().getMemoryUsageBeforeGc()) - usedAfterLastCollection);
+        usedAfterLastCollection = used(info.getGcInfo().getMemoryUsageAfterGc());
+    }
+
+    /**
+     * Stop receiving notifications.
+     *
+     * @return human readable GC activity since {@link #start()}
+     */
+    String stop() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            try {
+                ((NotificationEmitter) collector).removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                // collector created after start, nothing to remove
+            }
+        }
+        synchronized (this) {
+            var seconds = (System.nanoTime() - startNanos) / 1e9;
+            var allocated = allocatedBytes + Math.max(0, heapUsed() - usedAfterLastCollection);
+            var report = new StringBuilder();
+            var totalMillis = 0L;
+            for (Map.Entry<String, long[]> collector : collectors.entrySet()) {
+                totalMillis += collector.getValue()[1];
+                report.append(String.format("  %-24s collections=%d time=%dms%n",
+                        collector.getKey(), collector.getValue()[0], collector.getValue()[1]));
+            }
+            report.append(String.format("  %-24s time=%dms%n", "total", totalMillis));
+            report.append(String.format("  %-24s count=%d p50=%dms p90=%dms p99=%dms max=%dms%n", "pauses",
+                    pauseMillis.getTotalCount(),
+                    pauseMillis.getValueAtPercentile(50),
+                    pauseMillis.getValueAtPercentile(90),
+                    pauseMillis.getValueAtPercentile(99),
+                    pauseMillis.getMaxValue()));
+            return report.append(String.format("  %-24s %.1fMB/s (%dMB)", "allocation rate",
+                    allocated / 1e6 / seconds, allocated / 1_000_000)).toString();
+        }
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private long used(Map<String, MemoryUsage> pools) {
+        var used = 0L;
+        for (Map.Entry<String, MemoryUsage> pool : pools.entrySet()) {
+            if (heapPools.contains(pool.getKey())) {
+                used += pool.getValue().getUsed();
+            }
+        }
+        return used;
+    }
+}
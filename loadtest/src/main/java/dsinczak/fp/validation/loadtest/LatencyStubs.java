@@ -0,0 +1,54 @@
+package dsinczak.fp.validation.loadtest;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+import dsinczak.fp.validation.javadsl.cf.Validator;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Factory of stub validators simulating remote (IO bound) checks: result is completed by timer thread after
+ * exponentially distributed latency, so there are occasional long calls as in real services. Stubs do not block
+ * any thread while "waiting".
+ */
+final class LatencyStubs implements AutoCloseable {
+
+    private final ScheduledExecutorService timer;
+    private final long meanLatencyNanos;
+    private final double failureRatio;
+
+    LatencyStubs(Duration meanLatency, double failureRatio) {
+        this.timer = new ScheduledThreadPoolExecutor(2, runnable -> {
+            var thread = new Thread(runnable, "latency-stub-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.meanLatencyNanos = meanLatency.toNanos();
+        this.failureRatio = failureRatio;
+    }
+
+    <T> Validator<T> stub(String failureMessage) {
+        var failed = ValidationResult.failed(failureMessage);
+        return t -> {
+            var random = ThreadLocalRandom.current();
+            var result = random.nextDouble() < failureRatio ? failed : ValidationResult.success();
+            var latency = (long) (-meanLatencyNanos * Math.log(1.0 - random.nextDouble()));
+            if (latency <= 0) {
+                return CompletableFuture.completedFuture(result);
+            }
+            var future = new CompletableFuture<ValidationResult>();
+            timer.schedule(() -> future.complete(result), latency, NANOSECONDS);
+            return future;
+        };
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,77 @@
+package dsinczak.fp.validation.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/**
+ * Entry point of load test: drives chosen validator tree with stub validators of simulated latency at target arrival
+ * rate and reports throughput, response/service time percentiles and GC activity (collections, pause percentiles, allocation rate) of measured run. Options are listed
+ * in {@link LoadTestConfig#USAGE}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestConfig.USAGE);
+            System.exit(1);
+            return;
+        }
+        System.out.println(config);
+
+        try (var stubs = new LatencyStubs(config.stubLatency, config.stubFailureRatio)) {
+            var validator = config.scenario.build(stubs, config.fanOut);
+            var driver = new OpenModelDriver(validator, new Scenario.Order(config.fanOut), config.rate, config.callers);
+
+            if (!config.warmup.isZero()) {
+                System.out.println("Warming up...");
+                driver.run(config.warmup);
+            }
+            System.gc();
+
+            System.out.println("Measuring...");
+            var gc = GcStats.start();
+            var result = driver.run(config.duration);
+
+            report(result, gc.stop());
+            if (config.histogramFile != null) {
+                try (var out = new PrintStream(new FileOutputStream(config.histogramFile))) {
+                    // values in microseconds
+                    result.responseTime.outputPercentileDistribution(out, 1_000.0);
+                }
+            }
+        }
+    }
+
+    private static void report(OpenModelDriver.Result result, String gc) {
+        System.out.printf("requests: issued=%d completed=%d failedValidations=%d exceptions=%d%n",
+                result.requests, result.completed(), result.failedValidations.sum(), result.exceptions.sum());
+        System.out.printf("throughput: %.1f req/s%n", result.throughputPerSecond());
+        System.out.println("response time (from intended start): " + percentiles(result.responseTime));
+        System.out.println("service time (from actual start):    " + percentiles(result.serviceTime));
+        System.out.println("gc:");
+        System.out.println(gc);
+    }
+
+    private static String percentiles(Histogram histogram) {
+        return String.format("p50=%.3fms p90=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms",
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,74 @@
+package dsinczak.fp.validation.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test parameters parsed from <code>--name=value</code> command line arguments.
+ */
+final class LoadTestConfig {
+
+    static final String USAGE = String.join("\n",
+            "Options (all optional):",
+            "  --scenario=flat|failFast|nested|compiled  validator tree to drive (default nested)",
+            "  --rate=N                 target arrival rate, requests per second (default 10000)",
+            "  --duration=S             measured run length in seconds (default 30)",
+            "  --warmup=S               not measured warm up run length in seconds (default 10)",
+            "  --callers=N              threads issuing requests (default number of processors)",
+            "  --fanOut=N               children of merges / elements of validated collections (default 8)",
+            "  --stubLatencyMicros=N    mean (exponentially distributed) latency of stub validators (default 200)",
+            "  --stubFailureRatio=R     ratio of stub validations returning failure (default 0.01)",
+            "  --histogram=FILE         write response time percentile distribution to file (HdrHistogram format)");
+
+    final Scenario scenario;
+    final int rate;
+    final Duration duration;
+    final Duration warmup;
+    final int callers;
+    final int fanOut;
+    final Duration stubLatency;
+    final double stubFailureRatio;
+    final String histogramFile;
+
+    private LoadTestConfig(Map<String, String> options) {
+        this.scenario = Scenario.valueOf(options.getOrDefault("scenario", "nested").toUpperCase().replace("FAILFAST", "FAIL_FAST"));
+        this.rate = positive("rate", Integer.parseInt(options.getOrDefault("rate", "10000")));
+        this.duration = Duration.ofSeconds(positive("duration", Long.parseLong(options.getOrDefault("duration", "30"))));
+        this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        this.callers = positive("callers", Integer.parseInt(options.getOrDefault("callers", String.valueOf(Runtime.getRuntime().availableProcessors()))));
+        this.fanOut = positive("fanOut", Integer.parseInt(options.getOrDefault("fanOut", "8")));
+        this.stubLatency = Duration.ofNanos(Long.parseLong(options.getOrDefault("stubLatencyMicros", "200")) * 1_000);
+        this.stubFailureRatio = Double.parseDouble(options.getOrDefault("stubFailureRatio", "0.01"));
+        this.histogramFile = options.get("histogram");
+        if (rate > 1_000_000_000) {
+            throw new IllegalArgumentException("Rate cannot exceed one request per nanosecond");
+        }
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        var options = new HashMap<String, String>();
+        for (String arg : args) {
+            var separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(options);
+    }
+
+    private static <N extends Number> N positive(String name, N value) {
+        if (value.longValue() <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "scenario=" + scenario + " rate=" + rate + "/s duration=" + duration.getSeconds() + "s warmup="
+                + warmup.getSeconds() + "s callers=" + callers + " fanOut=" + fanOut + " stubLatency="
+                + stubLatency.toNanos() / 1_000 + "us stubFailureRatio=" + stubFailureRatio;
+    }
+}
@@ -0,0 +1,131 @@
+package dsinczak.fp.validation.loadtest;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+import dsinczak.fp.validation.javadsl.cf.Validator;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open model load generator: requests arrive at fixed rate no matter how fast the system responds (as users of a
+ * service do), instead of callers waiting for previous response before sending next request.
+ * Request number <code>n</code> is intended to start at <code>start + n * interval</code>. Caller threads claim
+ * consecutive request numbers, wait until intended start time and call validator without waiting for its result.
+ * Response time is measured from the intended start time, so when callers fall behind schedule (e.g. validator
+ * blocks caller thread or GC pause stops the world) the delay is included in recorded latency and not hidden
+ * (coordinated omission correction). Service time, measured from actual start, is recorded for comparison.
+ */
+final class OpenModelDriver {
+
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Validator<Scenario.Order> validator;
+    private final Scenario.Order order;
+    private final int rate;
+    private final int callers;
+
+    OpenModelDriver(Validator<Scenario.Order> validator, Scenario.Order order, int rate, int callers) {
+        // interval between intended starts is whole number of nanoseconds, higher rate would make it zero
+        if (rate < 1 || rate > 1_000_000_000) {
+            throw new IllegalArgumentException("Rate has to be between 1 and 1000000000 requests per second but was: " + rate);
+        }
+        this.validator = validator;
+        this.order = order;
+        this.rate = rate;
+        this.callers = callers;
+    }
+
+    Result run(Duration duration) throws InterruptedException {
+        var intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        var requests = Math.toIntExact(duration.toNanos() / intervalNanos);
+        var result = new Result(requests);
+        var nextRequest = new AtomicLong();
+        // Give all callers time to start before the first intended start time
+        var start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+
+        var threads = new ArrayList<Thread>(callers);
+        for (int i = 0; i < callers; i++) {
+            var thread = new Thread(() -> {
+                long request;
+                while ((request = nextRequest.getAndIncrement()) < requests) {
+                    var intendedStart = start + request * intervalNanos;
+                    waitUntil(intendedStart);
+                    call(intendedStart, result);
+                }
+            }, "load-caller-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!result.completions.await(30, TimeUnit.SECONDS)) {
+            System.err.println("Not all validations completed within 30s after the last request");
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private void call(long intendedStart, Result result) {
+        var actualStart = System.nanoTime();
+        CompletableFuture<ValidationResult> validation;
+        try {
+            validation = validator.validate(order);
+        } catch (Throwable throwable) {
+            validation = CompletableFuture.failedFuture(throwable);
+        }
+        validation.whenComplete((validationResult, throwable) -> {
+            var end = System.nanoTime();
+            result.responseTime.recordValue(end - intendedStart);
+            result.serviceTime.recordValue(end - actualStart);
+            if (throwable != null) {
+                result.exceptions.increment();
+            } else if (!validationResult.isSuccess()) {
+                result.failedValidations.increment();
+            }
+            result.completions.countDown();
+        });
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    static final class Result {
+        final int requests;
+        final Histogram responseTime = new ConcurrentHistogram(3);
+        final Histogram serviceTime = new ConcurrentHistogram(3);
+        final LongAdder failedValidations = new LongAdder();
+        final LongAdder exceptions = new LongAdder();
+        final CountDownLatch completions;
+        long elapsedNanos;
+
+        private Result(int requests) {
+            this.requests = requests;
+            this.completions = new CountDownLatch(requests);
+        }
+
+        long completed() {
+            return requests - completions.getCount();
+        }
+
+        double throughputPerSecond() {
+            return completed() / (elapsedNanos / 1e9);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package dsinczak.fp.validation.loadtest;
+
+import dsinczak.fp.validation.javadsl.Message;
+import dsinczak.fp.validation.javadsl.ValidationResult;
+import dsinczak.fp.validation.javadsl.cf.Validator;
+import dsinczak.fp.validation.javadsl.cf.Validators;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Validator trees driven by load test. All of them validate {@link Order} with <code>fanOut</code> lines.
+ */
+enum Scenario {
+
+    /**
+     * Single merge of <code>fanOut</code> stubs.
+     */
+    FLAT {
+        @Override
+        Validator<Order> build(LatencyStubs stubs, int fanOut) {
+            return Validators.merge(stubs(stubs, fanOut));
+        }
+    },
+    /**
+     * Fail fast merge of <code>fanOut</code> stubs (stubs are called one after another).
+     */
+    FAIL_FAST {
+        @Override
+        Validator<Order> build(LatencyStubs stubs, int fanOut) {
+            return Validators.mergeFailFast(stubs(stubs, fanOut));
+        }
+    },
+    /**
+     * Realistic, composed tree: header checks, remote check of every line merged with cheap lifted checks.
+     */
+    NESTED {
+        @Override
+        Validator<Order> build(LatencyStubs stubs, int fanOut) {
+            dsinczak.fp.validation.javadsl.ne.Validator<Integer> positive =
+                    quantity -> quantity > 0 ? ValidationResult.success() : ValidationResult.failed("Quantity must be positive");
+            Validator<Integer> line = Validators.merge(Validators.lift(positive), stubs.stub("Product is not available"));
+            Validator<Order> customer = Validators.merge(stubs.stub("Customer does not exist"), stubs.stub("Customer is blocked"));
+            Validator<Order> lines = Validators.<Order, Integer>forEach(order -> order.quantities, line)
+                    .exceptionally(throwable -> Message.of("Line validation error"));
+            return Validators.merge(customer, lines);
+        }
+    },
+    /**
+     * {@link #NESTED} tree after {@link Validators#compile(Validator)}.
+     */
+    COMPILED {
+        @Override
+        Validator<Order> build(LatencyStubs stubs, int fanOut) {
+            return Validators.compile(NESTED.build(stubs, fanOut));
+        }
+    };
+
+    abstract Validator<Order> build(LatencyStubs stubs, int fanOut);
+
+    private static List<Validator<Order>> stubs(LatencyStubs stubs, int count) {
+        var validators = new ArrayList<Validator<Order>>(count);
+        for (int i = 0; i < count; i++) {
+            validators.add(stubs.stub("Check " + i + " failed"));
+        }
+        return validators;
+    }
+
+    static final class Order {
+        final List<Integer> quantities;
+
+        Order(int lines) {
+            this.quantities = IntStream.rangeClosed(1, lines).boxed().collect(Collectors.toUnmodifiableList());
+        }
+    }
+}
@@ -1 +1,3 @@
 rootProject.name = "java-fp-validation"
+
+include("loadtest")
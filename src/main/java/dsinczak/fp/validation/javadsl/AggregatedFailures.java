@@ -0,0 +1,76 @@
+package dsinczak.fp.validation.javadsl;
+
+import dsinczak.fp.validation.javadsl.Message.AggregatedMessage;
+import dsinczak.fp.validation.javadsl.ValidationResult.FailedValidation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mutable accumulator of indexed validation results (e.g. results of collection elements) that collapses equal
+ * messages into single {@link AggregatedMessage} carrying occurrence count and up to <code>sampleSize</code> indices
+ * of occurrences. Messages keep order of their first occurrence.
+ * Result built this way has bounded size (number of distinct messages) regardless of number of failures.
+ * Accumulator is not thread safe.
+ */
+public final class AggregatedFailures {
+
+    private final int sampleSize;
+    private final Map<Message, Occurrences> occurrences = new LinkedHashMap<>();
+
+    public AggregatedFailures(int sampleSize) {
+        if (sampleSize < 0) {
+            throw new IllegalArgumentException("Sample size cannot be negative");
+        }
+        this.sampleSize = sampleSize;
+    }
+
+    public void add(int index, ValidationResult result) {
+        if (result.isSuccess()) {
+            return;
+        }
+        for (Message message : ((FailedValidation) result).messages) {
+            var messageOccurrences = occurrences.get(message);
+            if (messageOccurrences == null) {
+                messageOccurrences = new Occurrences(sampleSize);
+                occurrences.put(message, messageOccurrences);
+            }
+            messageOccurrences.record(index);
+        }
+    }
+
+    public ValidationResult toValidationResult() {
+        if (occurrences.isEmpty()) {
+            return ValidationResult.success();
+        }
+        var messages = new ArrayList<Message>(occurrences.size());
+        for (Map.Entry<Message, Occurrences> entry : occurrences.entrySet()) {
+            var messageOccurrences = entry.getValue();
+            messages.add(new AggregatedMessage(
+                    entry.getKey(),
+                    messageOccurrences.count,
+                    Arrays.copyOf(messageOccurrences.samples, messageOccurrences.sampled)
+            ));
+        }
+        return new FailedValidation(messages);
+    }
+
+    private static final class Occurrences {
+        private final int[] samples;
+        private int sampled;
+        private long count;
+
+        private Occurrences(int sampleSize) {
+            this.samples = new int[sampleSize];
+        }
+
+        private void record(int index) {
+            count++;
+            if (sampled < samples.length) {
+                samples[sampled++] = index;
+            }
+        }
+    }
+}
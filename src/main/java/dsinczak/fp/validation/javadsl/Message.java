@@ -1,5 +1,6 @@
 package dsinczak.fp.validation.javadsl;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 
@@ -14,6 +15,7 @@ import static java.util.stream.Collectors.joining;
  *     <li>{@link SimpleMessage} where message is represented by string value</li>
  *     <li>{@link ParametrizedMessage} which is type-safe representation of message represented by message code and message parameters</li>
  * </ul>
+ * Additionally {@link AggregatedMessage} represents many occurrences of the same message (see {@link AggregatedFailures}).
  */
 public abstract class Message {
 
@@ -113,6 +115,55 @@ public abstract class Message {
         }
     }
 
+    /**
+     * Many occurrences of equal message collapsed into single one. Carries number of occurrences and bounded sample of
+     * indices (of collection elements or merged validators) at which the message occurred.
+     */
+    public static final class AggregatedMessage extends Message {
+
+        private final Message message;
+        private final long count;
+        private final int[] sampleIndices;
+
+        AggregatedMessage(Message message, long count, int[] sampleIndices) {
+            this.message = message;
+            this.count = count;
+            this.sampleIndices = sampleIndices;
+        }
+
+        public Message getMessage() {
+            return message;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public int[] getSampleIndices() {
+            return sampleIndices.clone();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof AggregatedMessage)) return false;
+            AggregatedMessage that = (AggregatedMessage) o;
+            return count == that.count
+                    && message.equals(that.message)
+                    && Arrays.equals(sampleIndices, that.sampleIndices);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hash(message, count) + Arrays.hashCode(sampleIndices);
+        }
+
+        @Override
+        public String toString() {
+            return message + " (x" + count + ", e.g. at " + Arrays.toString(sampleIndices) + ")";
+        }
+    }
+
     public static Message of(ParametrizedMessage.Code code, Map<ParametrizedMessage.Parm, Object> parameters) {
         return new ParametrizedMessage(code, parameters != null ? Map.copyOf(parameters) : Map.of());
     }
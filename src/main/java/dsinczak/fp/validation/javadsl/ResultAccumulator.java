@@ -0,0 +1,68 @@
+package dsinczak.fp.validation.javadsl;
+
+import dsinczak.fp.validation.javadsl.ValidationResult.FailedValidation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reusable scratch buffer collecting messages of many validation results, so merging <code>n</code> failed results
+ * copies every message once (instead of copying all messages collected so far on every
+ * {@link ValidationResult#concat(ValidationResult)}). Accumulators are taken from {@link ValidationContext} and must
+ * be released when result is built, after that they must not be used any more.
+ * Accumulator is not thread safe but it can be handed over to other thread (e.g. the one completing asynchronous
+ * validation) as long as it is used by one thread at a time and the hand over is properly synchronized.
+ */
+public final class ResultAccumulator {
+
+    // Larger buffers are not kept for reuse, so single huge validation does not pin memory of pooled accumulator
+    private static final int MAX_RETAINED_CAPACITY = 1024;
+
+    private final ValidationContext owner;
+    private ArrayList<Message> messages = new ArrayList<>();
+    private boolean inUse;
+    // link of owner's stack of accumulators released by other threads
+    ResultAccumulator next;
+
+    ResultAccumulator(ValidationContext owner) {
+        this.owner = owner;
+    }
+
+    public void add(ValidationResult result) {
+        if (!result.isSuccess()) {
+            messages.addAll(((FailedValidation) result).messages);
+        }
+    }
+
+    public boolean isEmpty() {
+        return messages.isEmpty();
+    }
+
+    /**
+     * @return result with all messages added so far (in order of adding), accumulator can still be used after
+     */
+    public ValidationResult toValidationResult() {
+        return messages.isEmpty() ? ValidationResult.success() : new FailedValidation(List.copyOf(messages));
+    }
+
+    /**
+     * Reset accumulator and give it back to context it was acquired from (release can be done by any thread).
+     */
+    public void release() {
+        if (!inUse) {
+            throw new IllegalStateException("Accumulator was already released");
+        }
+        inUse = false;
+        if (messages.size() > MAX_RETAINED_CAPACITY) {
+            messages = new ArrayList<>();
+        } else {
+            messages.clear();
+        }
+        owner.recycle(this);
+    }
+
+    ResultAccumulator use() {
+        inUse = true;
+        return this;
+    }
+}
@@ -0,0 +1,96 @@
+package dsinczak.fp.validation.javadsl;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per thread validation scratch state reused between validations, so high rate validation does not generate garbage
+ * for temporary structures. Currently it is pool of {@link ResultAccumulator}s used by merging validators of
+ * <code>ne</code> and <code>cf</code> trees (nested merges take one accumulator per level).
+ * Context is bound to thread and never passed explicitly, it is used by the thread currently running validation.
+ * Accumulator always goes back to the context it was acquired from, also when it is released by other thread (e.g.
+ * executor thread completing asynchronous validation): such accumulators are pushed to lock-free return stack which
+ * owning thread takes over on its next acquire. Pools are bounded, accumulators over the limit are left to garbage
+ * collector.
+ * <p>
+ * Context deliberately carries scratch state only, it does not track current path nor error budget:
+ * <ul>
+ *     <li>messages do not carry location, extractors are plain functions without names, so there is no path to
+ *     track (index of collection element or merged validator is reported by aggregated variants, see
+ *     {@link AggregatedFailures})</li>
+ *     <li>limiting number of errors is a property of the tree, not of the thread running it (asynchronous tree
+ *     completes on many threads), it is expressed with fail fast and aggregated combinators, e.g.
+ *     <code>mergeFailFast</code>, <code>forEachFailFast</code> or <code>forEachAggregated(validator, sampleSize)</code></li>
+ * </ul>
+ */
+public final class ValidationContext {
+
+    private static final int MAX_POOLED = 8;
+
+    private static final ThreadLocal<ValidationContext> CONTEXT = ThreadLocal.withInitial(ValidationContext::new);
+
+    private final Thread thread = Thread.currentThread();
+    // confined to owning thread
+    private final ResultAccumulator[] pool = new ResultAccumulator[MAX_POOLED];
+    private int pooled;
+    // accumulators released by other threads, linked through ResultAccumulator.next
+    private final AtomicReference<ResultAccumulator> returned = new AtomicReference<>();
+
+    private ValidationContext() {
+    }
+
+    /**
+     * @return context of current thread
+     */
+    public static ValidationContext current() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * @return empty accumulator, it has to be released with {@link ResultAccumulator#release()} after use
+     */
+    public ResultAccumulator acquire() {
+        if (pooled == 0) {
+            takeOverReturned();
+        }
+        if (pooled == 0) {
+            return new ResultAccumulator(this).use();
+        }
+        var accumulator = pool[--pooled];
+        pool[pooled] = null;
+        return accumulator.use();
+    }
+
+    /**
+     * @return number of accumulators ready to be reused by current thread (accumulators released by other threads
+     * are counted once they are taken over)
+     */
+    public int pooledCount() {
+        return pooled;
+    }
+
+    void recycle(ResultAccumulator accumulator) {
+        if (Thread.currentThread() == thread) {
+            if (pooled < MAX_POOLED) {
+                pool[pooled++] = accumulator;
+            }
+            return;
+        }
+        ResultAccumulator head;
+        do {
+            head = returned.get();
+            accumulator.next = head;
+        } while (!returned.compareAndSet(head, accumulator));
+    }
+
+    private void takeOverReturned() {
+        var accumulator = returned.getAndSet(null);
+        while (accumulator != null) {
+            var next = accumulator.next;
+            accumulator.next = null;
+            if (pooled < MAX_POOLED) {
+                pool[pooled++] = accumulator;
+            }
+            accumulator = next;
+        }
+    }
+}
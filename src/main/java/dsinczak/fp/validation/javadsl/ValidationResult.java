@@ -144,6 +144,8 @@ public abstract class ValidationResult {
 
     public static ValidationResult failed(String ... messages) { return new FailedValidation(Arrays.stream(messages).map(Message::of).collect(Collectors.toList())); }
 
+    public static ValidationResult failed(List<Message> messages) { return new FailedValidation(List.copyOf(messages)); }
+
     public static ValidationResult failed(ParametrizedMessage.Code code) { return new FailedValidation(Message.of(code)); }
 
     public static ValidationResult failed(ParametrizedMessage.Code code, Map<ParametrizedMessage.Parm, Object> parms) { return new FailedValidation(Message.of(code, parms)); }
@@ -0,0 +1,22 @@
+package dsinczak.fp.validation.javadsl.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Numeric field value must be greater than or equal to {@link #value()}.
+ * Null values (of boxed types) are not validated, combine with {@link NotNull} when value is required.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Min {
+
+    long value();
+
+    /**
+     * @return validation message, when empty default message is generated
+     */
+    String message() default "";
+}
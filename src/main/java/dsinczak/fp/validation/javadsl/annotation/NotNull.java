@@ -0,0 +1,19 @@
+package dsinczak.fp.validation.javadsl.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Field value must not be null.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface NotNull {
+
+    /**
+     * @return validation message, when empty default message is generated
+     */
+    String message() default "";
+}
@@ -0,0 +1,15 @@
+package dsinczak.fp.validation.javadsl.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Field value should be validated with validator generated for its type (the type must be annotated with
+ * {@link Validated}). Null values are not validated, combine with {@link NotNull} when value is required.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface Valid {
+}
@@ -0,0 +1,20 @@
+package dsinczak.fp.validation.javadsl.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks class for which validator should be generated at compile time by
+ * {@link dsinczak.fp.validation.javadsl.annotation.processing.ValidatorProcessor}.
+ * For class <code>Customer</code> the processor generates <code>CustomerValidator</code> (in the same package)
+ * implementing {@link dsinczak.fp.validation.javadsl.ne.Validator}, built from constraint annotations placed on fields.
+ * Generated validator accesses fields directly (or through getters when fields are private) so there is no reflection
+ * involved neither at startup nor at runtime. Annotation is kept in class files (but not at runtime), so
+ * {@link Valid} fields can refer to validated classes compiled separately.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface Validated {
+}
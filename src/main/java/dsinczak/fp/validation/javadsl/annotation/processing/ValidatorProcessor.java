@@ -0,0 +1,347 @@
+package dsinczak.fp.validation.javadsl.annotation.processing;
+
+import dsinczak.fp.validation.javadsl.annotation.Max;
+import dsinczak.fp.validation.javadsl.annotation.Min;
+import dsinczak.fp.validation.javadsl.annotation.NotBlank;
+import dsinczak.fp.validation.javadsl.annotation.NotNull;
+import dsinczak.fp.validation.javadsl.annotation.Valid;
+import dsinczak.fp.validation.javadsl.annotation.Validated;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compile time generator of {@link dsinczak.fp.validation.javadsl.ne.Validator} implementations for classes annotated
+ * with {@link Validated}. Generated validator is plain class that validates constraints (declared on fields) one by
+ * one and concatenates results (constraints of superclass fields first). It does not use reflection nor lambdas, field
+ * values are read directly or through getters (when field is not accessible from package of validated class).
+ * To obtain asynchronous version lift generated validator with
+ * {@link dsinczak.fp.validation.javadsl.cf.Validators#lift(dsinczak.fp.validation.javadsl.ne.Validator)}.
+ */
+@SupportedAnnotationTypes("dsinczak.fp.validation.javadsl.annotation.Validated")
+public class ValidatorProcessor extends AbstractProcessor {
+
+    static final String VALIDATOR_SUFFIX = "Validator";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Validated.class)) {
+            try {
+                generate(asValidatedClass(element));
+            } catch (GenerationException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write validator: " + e.getMessage(), element);
+            }
+        }
+        return true;
+    }
+
+    private TypeElement asValidatedClass(Element element) {
+        if (element.getKind() != ElementKind.CLASS) {
+            throw new GenerationException("@Validated can be placed on classes only", element);
+        }
+        var type = (TypeElement) element;
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new GenerationException("@Validated is not supported on generic classes", element);
+        }
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            throw new GenerationException("@Validated is not supported on local classes", element);
+        }
+        if (!isAccessible(type.asType(), packageOf(type))) {
+            throw new GenerationException("@Validated class (and classes enclosing it) must not be private", element);
+        }
+        return type;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        var packageName = packageOf(type);
+        var validatorName = validatorName(type);
+        var typeName = type.getQualifiedName().toString();
+
+        var source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(ValidatorProcessor.class.getName()).append("\")\n")
+                .append("public final class ").append(validatorName)
+                .append(" implements dsinczak.fp.validation.javadsl.ne.Validator<").append(typeName).append("> {\n\n")
+                .append("    public static final ").append(validatorName).append(" INSTANCE = new ").append(validatorName).append("();\n\n")
+                .append("    private ").append(validatorName).append("() {\n    }\n\n")
+                .append("    @Override\n")
+                .append("    public dsinczak.fp.validation.javadsl.ValidationResult validate(").append(typeName).append(" t) {\n")
+                .append("        dsinczak.fp.validation.javadsl.ValidationResult result = dsinczak.fp.validation.javadsl.ValidationResult.success();\n");
+
+        for (VariableElement field : constrainedFields(type)) {
+            appendFieldValidation(source, type, field, packageName);
+        }
+
+        source.append("        return result;\n")
+                .append("    }\n")
+                .append("}\n");
+
+        var qualifiedName = packageName.isEmpty() ? validatorName : packageName + "." + validatorName;
+        try (var writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    /**
+     * Constrained instance fields of the class and its superclasses, superclass fields first. Constrained field hidden
+     * by field of subclass is rejected (it cannot be read by name).
+     */
+    private List<VariableElement> constrainedFields(TypeElement type) {
+        var hierarchy = new ArrayList<List<VariableElement>>();
+        var names = new HashSet<String>();
+        for (var current = type; current != null; current = superclassOf(current)) {
+            var fields = new ArrayList<VariableElement>();
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+                var hidden = !names.add(field.getSimpleName().toString());
+                if (isConstrained(field)) {
+                    if (hidden) {
+                        throw new GenerationException("Constrained field " + field.getSimpleName() + " of "
+                                + current.getQualifiedName() + " is hidden by field of subclass", type);
+                    }
+                    fields.add(field);
+                }
+            }
+            hierarchy.add(0, fields);
+        }
+        var constrained = new ArrayList<VariableElement>();
+        hierarchy.forEach(constrained::addAll);
+        return constrained;
+    }
+
+    private static TypeElement superclassOf(TypeElement type) {
+        var superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private boolean isConstrained(VariableElement field) {
+        return field.getAnnotation(NotNull.class) != null
+                || field.getAnnotation(NotBlank.class) != null
+                || field.getAnnotation(Min.class) != null
+                || field.getAnnotation(Max.class) != null
+                || field.getAnnotation(Valid.class) != null;
+    }
+
+    private void appendFieldValidation(StringBuilder source, TypeElement type, VariableElement field, String packageName) {
+        var name = field.getSimpleName().toString();
+        // Type as seen from validated class (type variables of generic superclass resolved)
+        var fieldType = processingEnv.getTypeUtils().asMemberOf((DeclaredType) type.asType(), field);
+        if (!isAccessible(fieldType, packageName)) {
+            throw new GenerationException("Type of constrained field " + name + " is not accessible from package of validated class", field);
+        }
+        var value = "v_" + name;
+        source.append("        ").append(fieldType).append(' ').append(value)
+                .append(" = t.").append(accessor(type, field, fieldType, packageName)).append(";\n");
+
+        var notNull = field.getAnnotation(NotNull.class);
+        if (notNull != null) {
+            if (fieldType.getKind().isPrimitive()) {
+                throw new GenerationException("@NotNull cannot be placed on primitive field", field);
+            }
+            appendCheck(source, value + " == null", message(notNull.message(), name + " must not be null"));
+        }
+
+        var notBlank = field.getAnnotation(NotBlank.class);
+        if (notBlank != null) {
+            var charSequence = processingEnv.getElementUtils().getTypeElement(CharSequence.class.getName()).asType();
+            if (!processingEnv.getTypeUtils().isAssignable(fieldType, charSequence)) {
+                throw new GenerationException("@NotBlank can be placed on CharSequence fields only", field);
+            }
+            appendCheck(source, value + " == null || " + value + ".toString().isBlank()", message(notBlank.message(), name + " must not be blank"));
+        }
+
+        var min = field.getAnnotation(Min.class);
+        if (min != null) {
+            appendCheck(source, numericCondition(field, fieldType, value, " < " + min.value() + "L"),
+                    message(min.message(), name + " must be greater than or equal to " + min.value()));
+        }
+
+        var max = field.getAnnotation(Max.class);
+        if (max != null) {
+            appendCheck(source, numericCondition(field, fieldType, value, " > " + max.value() + "L"),
+                    message(max.message(), name + " must be less than or equal to " + max.value()));
+        }
+
+        if (field.getAnnotation(Valid.class) != null) {
+            if (fieldType.getKind() != TypeKind.DECLARED) {
+                throw new GenerationException("@Valid can be placed on fields of @Validated class type only", field);
+            }
+            var fieldTypeElement = (TypeElement) ((DeclaredType) fieldType).asElement();
+            if (fieldTypeElement.getAnnotation(Validated.class) == null) {
+                throw new GenerationException("@Valid can be placed on fields of @Validated class type only", field);
+            }
+            var fieldPackage = packageOf(fieldTypeElement);
+            var nestedValidator = (fieldPackage.isEmpty() ? "" : fieldPackage + ".") + validatorName(fieldTypeElement);
+            source.append("        if (").append(value).append(" != null) {\n")
+                    .append("            result = result.concat(").append(nestedValidator).append(".INSTANCE.validate(").append(value).append("));\n")
+                    .append("        }\n");
+        }
+    }
+
+    private String numericCondition(VariableElement field, TypeMirror fieldType, String value, String comparison) {
+        if (isNumeric(fieldType)) {
+            return value + comparison;
+        }
+        if (fieldType.getKind() == TypeKind.DECLARED && isNumeric(unboxed(fieldType))) {
+            return value + " != null && " + value + comparison;
+        }
+        throw new GenerationException("@Min and @Max can be placed on numeric primitive (or boxed) fields only", field);
+    }
+
+    private TypeMirror unboxed(TypeMirror type) {
+        try {
+            return processingEnv.getTypeUtils().unboxedType(type);
+        } catch (IllegalArgumentException notUnboxable) {
+            return type;
+        }
+    }
+
+    private static boolean isNumeric(TypeMirror type) {
+        switch (type.getKind()) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void appendCheck(StringBuilder source, String failureCondition, String message) {
+        source.append("        if (").append(failureCondition).append(") {\n")
+                .append("            result = result.concat(dsinczak.fp.validation.javadsl.ValidationResult.failed(")
+                .append(processingEnv.getElementUtils().getConstantExpression(message)).append("));\n")
+                .append("        }\n");
+    }
+
+    private static String message(String declared, String defaultMessage) {
+        return declared.isEmpty() ? defaultMessage : declared;
+    }
+
+    /**
+     * Fields accessible from package of validated class are read directly, for other ones (private or inherited from
+     * class of other package) getter (<code>getX()</code>, <code>isX()</code> or <code>x()</code>) is used.
+     */
+    private String accessor(TypeElement type, VariableElement field, TypeMirror fieldType, String packageName) {
+        var name = field.getSimpleName().toString();
+        if (isAccessible(field, packageName)) {
+            return name;
+        }
+        var capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        var candidates = List.of("get" + capitalized, "is" + capitalized, name);
+        var types = processingEnv.getTypeUtils();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (candidates.contains(method.getSimpleName().toString())
+                    && method.getParameters().isEmpty()
+                    && isAccessible(method, packageName)
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && types.isSameType(((ExecutableType) types.asMemberOf((DeclaredType) type.asType(), method)).getReturnType(), fieldType)) {
+                return method.getSimpleName() + "()";
+            }
+        }
+        throw new GenerationException((field.getModifiers().contains(Modifier.PRIVATE) ? "Private field " : "Field ")
+                + name + " has no accessible getter", field);
+    }
+
+    private String packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+    }
+
+    /**
+     * Whether class or member can be referenced by generated validator placed in given package.
+     */
+    private boolean isAccessible(Element element, String packageName) {
+        var modifiers = element.getModifiers();
+        return modifiers.contains(Modifier.PUBLIC)
+                || !modifiers.contains(Modifier.PRIVATE) && packageOf(element).equals(packageName);
+    }
+
+    private boolean isAccessible(TypeMirror type, String packageName) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return isAccessible(((ArrayType) type).getComponentType(), packageName);
+            case DECLARED:
+                var declared = (DeclaredType) type;
+                for (var element = declared.asElement(); element.getKind().isClass() || element.getKind().isInterface(); element = element.getEnclosingElement()) {
+                    if (!isAccessible(element, packageName)) {
+                        return false;
+                    }
+                }
+                for (TypeMirror argument : declared.getTypeArguments()) {
+                    if (!isAccessible(argument, packageName)) {
+                        return false;
+                    }
+                }
+                return true;
+            case WILDCARD:
+                var wildcard = (WildcardType) type;
+                return (wildcard.getExtendsBound() == null || isAccessible(wildcard.getExtendsBound(), packageName))
+                        && (wildcard.getSuperBound() == null || isAccessible(wildcard.getSuperBound(), packageName));
+            case TYPEVAR:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * For nested classes enclosing class names are included, e.g. validator of <code>Order.Line</code> is
+     * <code>Order_LineValidator</code>.
+     */
+    static String validatorName(TypeElement type) {
+        var name = type.getSimpleName().toString();
+        var enclosing = type.getEnclosingElement();
+        while (enclosing.getKind().isClass() || enclosing.getKind().isInterface()) {
+            name = enclosing.getSimpleName() + "_" + name;
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name + VALIDATOR_SUFFIX;
+    }
+
+    private static final class GenerationException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Element element;
+
+        private GenerationException(String message, Element element) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package dsinczak.fp.validation.javadsl.cache;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+import dsinczak.fp.validation.javadsl.ne.Validator;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Validation results cache persisted in a file, so (batch) re-runs can skip validation of records that were already
+ * validated by the same version of validator, even after process restart. Only pure validators (result depends on
+ * the validated content only) can be cached.
+ * Results are keyed by SHA-256 of validator version id and content of validated value (provided by caller, e.g.
+ * serialized record or line of input file). Bumping version id invalidates all results of validator.
+ * File is append-only log of records:
+ * <pre>
+ *     int      length of key and encoded result
+ *     byte[32] key
+ *     byte[]   encoded result (see {@link ResultCodec})
+ *     int      CRC32 of key and encoded result
+ * </pre>
+ * When cache is opened the file is memory mapped and scanned to build in-memory index of keys and file locations of
+ * their results, results are read from the file (and decoded) when they are needed. Record with wrong checksum is
+ * skipped (by its length). Torn record at the end of file (e.g. process killed while appending) is truncated, as is
+ * the rest of file from record with corrupted length (next records cannot be found). Results that cannot be decoded
+ * any more (e.g. refer to removed message code) are validated again and appended.
+ * Appended records are not forced to disk until {@link #flush()} or {@link #close()}.
+ * Cache is thread safe. File is owned by single cache: it is locked while cache is open, so other process (or other
+ * cache of this process) cannot open it.
+ */
+public final class PersistentResultCache implements Closeable {
+
+    private static final int MAGIC = 0x56524331; // "VRC1"
+    private static final int HEADER_SIZE = Integer.BYTES;
+    private static final int KEY_SIZE = 32;
+    private static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+    private static final long SCAN_WINDOW = 256L * 1024 * 1024;
+    // Location of encoded result: file offset in upper bits, length in lower LENGTH_BITS bits
+    private static final int LENGTH_BITS = 25;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is supported by every Java platform", e);
+        }
+    });
+
+    private final FileChannel channel;
+    private final Map<Key, Long> index = new ConcurrentHashMap<>();
+    // guarded by channel
+    private long end;
+
+    private PersistentResultCache(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Open (or create) cache file and load its index.
+     *
+     * @throws IOException when file cannot be read, is not a cache file or is used by other cache
+     */
+    public static PersistentResultCache open(Path file) throws IOException {
+        var channel = FileChannel.open(file, READ, WRITE, CREATE);
+        try {
+            lock(channel, file);
+            var cache = new PersistentResultCache(channel);
+            cache.load();
+            return cache;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param version identifier of validator version (and all the rules it depends on), e.g. <code>"order-v7"</code>
+     * @param content canonical binary content of validated value, equal content must mean equal validation result
+     * @return validator returning cached result when value of the same content was already validated by the same
+     * version of validator, otherwise validating value with <code>validator</code> and caching its result
+     */
+    public <T> Validator<T> cached(String version, Function<T, byte[]> content, Validator<T> validator) {
+        var versionBytes = version.getBytes(StandardCharsets.UTF_8);
+        return t -> {
+            var key = key(versionBytes, content.apply(t));
+            try {
+                var location = index.get(key);
+                var cached = location != null ? read(key, location) : null;
+                if (cached != null) {
+                    return cached;
+                }
+                var result = validator.validate(t);
+                var encoded = ResultCodec.encode(result);
+                if (encoded != null) {
+                    append(key, encoded);
+                }
+                return result;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * @return number of cached results
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Force all appended results to disk.
+     */
+    public void flush() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static void lock(FileChannel channel, Path file) throws IOException {
+        try {
+            // Released when channel is closed
+            if (channel.tryLock() == null) {
+                throw new IOException("Validation result cache " + file + " is used by other process");
+            }
+        } catch (OverlappingFileLockException e) {
+            throw new IOException("Validation result cache " + file + " is already open", e);
+        }
+    }
+
+    private void load() throws IOException {
+        var size = channel.size();
+        if (size == 0) {
+            var header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            end = HEADER_SIZE;
+            return;
+        }
+        if (size < HEADER_SIZE || channel.map(READ_ONLY, 0, HEADER_SIZE).getInt() != MAGIC) {
+            throw new IOException("Not a validation result cache file");
+        }
+        var position = (long) HEADER_SIZE;
+        var crc = new CRC32();
+        while (position < size) {
+            position += scan(channel.map(READ_ONLY, position, Math.min(SCAN_WINDOW, size - position)), position, crc);
+            // Record cut by the end of window (records are much smaller than window) is scanned from the next window
+            if (position < size && !isComplete(position, size)) {
+                break;
+            }
+        }
+        end = position;
+        if (end < size) {
+            // Torn tail or corrupted length, later appends would be unreachable behind it
+            channel.truncate(end);
+        }
+    }
+
+    /**
+     * @return number of bytes of complete records (also skipped ones with wrong checksum) at the beginning of window
+     */
+    private int scan(ByteBuffer window, long windowOffset, CRC32 crc) {
+        while (window.remaining() >= Integer.BYTES) {
+            var start = window.position();
+            var length = window.getInt();
+            if (!isValidLength(length) || window.remaining() < length + Integer.BYTES) {
+                return start;
+            }
+            var record = window.slice().limit(length);
+            crc.reset();
+            crc.update(record);
+            window.position(window.position() + length);
+            if ((int) crc.getValue() == window.getInt()) {
+                var key = new byte[KEY_SIZE];
+                window.duplicate().position(start + Integer.BYTES).get(key);
+                index.put(new Key(key), location(windowOffset + start + Integer.BYTES + KEY_SIZE, length - KEY_SIZE));
+            }
+        }
+        return window.position();
+    }
+
+    private boolean isComplete(long position, long size) throws IOException {
+        if (size - position < Integer.BYTES) {
+            return false;
+        }
+        var length = readFully(ByteBuffer.allocate(Integer.BYTES), position).getInt();
+        return isValidLength(length) && size - position >= Integer.BYTES + length + Integer.BYTES;
+    }
+
+    private static boolean isValidLength(int length) {
+        return length >= KEY_SIZE && length <= MAX_RECORD_SIZE;
+    }
+
+    /**
+     * @return cached result, <code>null</code> when it cannot be decoded (e.g. message code was removed), then value
+     * has to be validated again
+     */
+    private ValidationResult read(Key key, long location) throws IOException {
+        var encoded = readFully(ByteBuffer.allocate((int) (location & ((1 << LENGTH_BITS) - 1))), location >>> LENGTH_BITS);
+        try {
+            return ResultCodec.decode(encoded.array());
+        } catch (IOException | RuntimeException e) {
+            index.remove(key, location);
+            return null;
+        }
+    }
+
+    private ByteBuffer readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Validation result cache file was truncated");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private void append(Key key, byte[] encoded) throws IOException {
+        var crc = new CRC32();
+        crc.update(key.bytes);
+        crc.update(encoded);
+        var record = ByteBuffer.allocate(Integer.BYTES + KEY_SIZE + encoded.length + Integer.BYTES)
+                .putInt(KEY_SIZE + encoded.length)
+                .put(key.bytes)
+                .put(encoded)
+                .putInt((int) crc.getValue())
+                .flip();
+        synchronized (channel) {
+            if (index.containsKey(key)) {
+                // Cached concurrently
+                return;
+            }
+            var start = end;
+            while (record.hasRemaining()) {
+                end += channel.write(record, end);
+            }
+            index.put(key, location(start + Integer.BYTES + KEY_SIZE, encoded.length));
+        }
+    }
+
+    private static long location(long offset, int length) {
+        return offset << LENGTH_BITS | length;
+    }
+
+    private static Key key(byte[] version, byte[] content) {
+        var digest = SHA_256.get();
+        digest.update(version);
+        // Separator, so version and content boundary is not ambiguous
+        digest.update((byte) 0);
+        return new Key(digest.digest(content));
+    }
+
+    private static final class Key {
+        private final byte[] bytes;
+        private final int hash;
+
+        private Key(byte[] bytes) {
+            this.bytes = bytes;
+            // Bytes of cryptographic hash are uniformly distributed
+            this.hash = ByteBuffer.wrap(bytes).getInt();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(bytes, ((Key) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
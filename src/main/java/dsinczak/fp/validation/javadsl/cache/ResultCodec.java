@@ -0,0 +1,234 @@
+package dsinczak.fp.validation.javadsl.cache;
+
+import dsinczak.fp.validation.javadsl.Message;
+import dsinczak.fp.validation.javadsl.Message.ParametrizedMessage;
+import dsinczak.fp.validation.javadsl.Message.SimpleMessage;
+import dsinczak.fp.validation.javadsl.ValidationResult;
+import dsinczak.fp.validation.javadsl.ValidationResult.FailedValidation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of {@link ValidationResult}. Successful validation is encoded as single byte, failed one as
+ * list of messages. Message codes and parameter names must be enums (as {@link ParametrizedMessage.Code} suggests)
+ * and parameter values must be simple values (strings, primitive wrappers, big numbers, enums). Results that cannot
+ * be encoded (e.g. with arbitrary objects as parameter values or with aggregated messages) are not encoded at all.
+ */
+final class ResultCodec {
+
+    static final byte[] SUCCESS = {0};
+
+    private static final byte FAILED = 1;
+
+    private static final byte SIMPLE_MESSAGE = 0;
+    private static final byte PARAMETRIZED_MESSAGE = 1;
+
+    private static final byte STRING = 0;
+    private static final byte INTEGER = 1;
+    private static final byte LONG = 2;
+    private static final byte SHORT = 3;
+    private static final byte BYTE = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte BOOLEAN = 7;
+    private static final byte CHARACTER = 8;
+    private static final byte BIG_DECIMAL = 9;
+    private static final byte BIG_INTEGER = 10;
+    private static final byte ENUM = 11;
+
+    private ResultCodec() {
+    }
+
+    /**
+     * @return encoded result or <code>null</code> when result cannot be encoded
+     */
+    static byte[] encode(ValidationResult result) {
+        if (result.isSuccess()) {
+            return SUCCESS;
+        }
+        var bytes = new ByteArrayOutputStream(64);
+        var out = new DataOutputStream(bytes);
+        try {
+            var messages = ((FailedValidation) result).getMessages();
+            out.writeByte(FAILED);
+            out.writeInt(messages.size());
+            for (Message message : messages) {
+                if (!writeMessage(out, message)) {
+                    return null;
+                }
+            }
+        } catch (IOException e) {
+            // Not possible for in memory stream
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IOException when bytes are not valid encoding or refer to unknown (e.g. removed) enum
+     */
+    static ValidationResult decode(byte[] bytes) throws IOException {
+        var in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readByte() != FAILED) {
+            return ValidationResult.success();
+        }
+        var count = in.readInt();
+        var messages = new ArrayList<Message>(count);
+        for (int i = 0; i < count; i++) {
+            messages.add(readMessage(in));
+        }
+        return ValidationResult.failed(messages);
+    }
+
+    private static boolean writeMessage(DataOutputStream out, Message message) throws IOException {
+        if (message instanceof SimpleMessage) {
+            out.writeByte(SIMPLE_MESSAGE);
+            writeString(out, ((SimpleMessage) message).getValue());
+            return true;
+        }
+        if (!(message instanceof ParametrizedMessage)) {
+            return false;
+        }
+        var parametrized = (ParametrizedMessage) message;
+        if (!(parametrized.getCode() instanceof Enum)) {
+            return false;
+        }
+        out.writeByte(PARAMETRIZED_MESSAGE);
+        writeEnum(out, (Enum<?>) parametrized.getCode());
+        out.writeInt(parametrized.getParameters().size());
+        for (Map.Entry<ParametrizedMessage.Parm, Object> parameter : parametrized.getParameters().entrySet()) {
+            if (!(parameter.getKey() instanceof Enum)) {
+                return false;
+            }
+            writeEnum(out, (Enum<?>) parameter.getKey());
+            if (!writeValue(out, parameter.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Message readMessage(DataInputStream in) throws IOException {
+        var type = in.readByte();
+        if (type == SIMPLE_MESSAGE) {
+            return Message.of(readString(in));
+        }
+        if (type != PARAMETRIZED_MESSAGE) {
+            throw new IOException("Unknown message type: " + type);
+        }
+        var code = (ParametrizedMessage.Code) readEnum(in);
+        var count = in.readInt();
+        var parameters = new HashMap<ParametrizedMessage.Parm, Object>(count * 2);
+        for (int i = 0; i < count; i++) {
+            parameters.put((ParametrizedMessage.Parm) readEnum(in), readValue(in));
+        }
+        return Message.of(code, parameters);
+    }
+
+    private static boolean writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Character) {
+            out.writeByte(CHARACTER);
+            out.writeChar((Character) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(BIG_DECIMAL);
+            writeString(out, value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte(BIG_INTEGER);
+            writeString(out, value.toString());
+        } else if (value instanceof Enum) {
+            out.writeByte(ENUM);
+            writeEnum(out, (Enum<?>) value);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        var type = in.readByte();
+        switch (type) {
+            case STRING: return readString(in);
+            case INTEGER: return in.readInt();
+            case LONG: return in.readLong();
+            case SHORT: return in.readShort();
+            case BYTE: return in.readByte();
+            case DOUBLE: return in.readDouble();
+            case FLOAT: return in.readFloat();
+            case BOOLEAN: return in.readBoolean();
+            case CHARACTER: return in.readChar();
+            case BIG_DECIMAL: return new BigDecimal(readString(in));
+            case BIG_INTEGER: return new BigInteger(readString(in));
+            case ENUM: return readEnum(in);
+            default: throw new IOException("Unknown parameter value type: " + type);
+        }
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        writeString(out, value.getDeclaringClass().getName());
+        writeString(out, value.name());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Enum<?> readEnum(DataInputStream in) throws IOException {
+        var className = readString(in);
+        var name = readString(in);
+        try {
+            var classLoader = Thread.currentThread().getContextClassLoader();
+            var type = Class.forName(className, false, classLoader != null ? classLoader : ResultCodec.class.getClassLoader());
+            if (!type.isEnum()) {
+                throw new IOException("Not an enum: " + className);
+            }
+            return Enum.valueOf((Class) type, name);
+        } catch (ClassNotFoundException | IllegalArgumentException e) {
+            throw new IOException("Unknown enum constant: " + className + "." + name, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        // Not writeUTF as it is limited to 64KB
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        var bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,131 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Execution policy limiting number of concurrently running validations. Validation is considered running until its
+ * future completes. When all permits are taken validations are queued (up to <code>maxQueued</code>) and started in
+ * FIFO order as soon as running ones complete, with <code>maxQueued</code> equal to zero validations are rejected
+ * right away. Rejected validation completes exceptionally with {@link RejectedExecutionException} (which can be
+ * handled with {@link Validator#exceptionally(dsinczak.fp.validation.javadsl.ErrorCase...)}).
+ * Limit is shared by all validators this bulkhead is applied to. Bulkhead does not block any thread, queued
+ * validations are started by threads completing running ones.
+ */
+public final class Bulkhead implements ExecutionPolicy {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    Bulkhead(int maxConcurrent, int maxQueued) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Bulkhead must allow at least one concurrent validation");
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Bulkhead queue size cannot be negative");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+    }
+
+    @Override
+    public <T> Validator<T> applyTo(Validator<T> validator) {
+        return new DecoratedValidator<>(validator, "bulkhead(maxConcurrent=" + maxConcurrent + ", maxQueued=" + maxQueued + ")",
+                limited -> t -> queued.get() == 0 && tryAcquire()
+                        ? execute(limited, t)
+                        : enqueue(limited, t));
+    }
+
+    public int activeCount() {
+        return active.get();
+    }
+
+    public int queuedCount() {
+        return queued.get();
+    }
+
+    private <T> CompletableFuture<ValidationResult> execute(Validator<T> validator, T t) {
+        CompletableFuture<ValidationResult> result;
+        try {
+            result = validator.validate(t);
+        } catch (Throwable throwable) {
+            release();
+            return CompletableFuture.failedFuture(throwable);
+        }
+        if (result.isDone()) {
+            release();
+            return result;
+        }
+        return result.whenComplete((validationResult, throwable) -> release());
+    }
+
+    private <T> CompletableFuture<ValidationResult> enqueue(Validator<T> validator, T t) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Bulkhead is full: " + maxConcurrent + " validations running and " + maxQueued + " queued"));
+        }
+        var result = new CompletableFuture<ValidationResult>();
+        var deadline = Deadline.currentOrNull();
+        queue.offer(() -> Deadline.within(deadline, () -> execute(validator, t)).whenComplete((validationResult, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(validationResult);
+            }
+        }));
+        drain();
+        return result;
+    }
+
+    private boolean tryAcquire() {
+        for (; ; ) {
+            var current = active.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+            if (active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void release() {
+        active.decrementAndGet();
+        drain();
+    }
+
+    /**
+     * Starts queued validations while there are free permits. Only one thread drains at a time (work-in-progress
+     * counter) so validations completing synchronously do not recurse into each other.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        var missed = 1;
+        do {
+            while (!queue.isEmpty() && tryAcquire()) {
+                var task = queue.poll();
+                queued.decrementAndGet();
+                task.run();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead{active=" + active + "/" + maxConcurrent + ", queued=" + queued + "/" + maxQueued + "}";
+    }
+}
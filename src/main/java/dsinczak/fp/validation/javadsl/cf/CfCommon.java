@@ -1,31 +1,46 @@
 package dsinczak.fp.validation.javadsl.cf;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import dsinczak.fp.validation.javadsl.ValidationResult;
 
-import static java.util.concurrent.CompletableFuture.allOf;
-import static java.util.stream.Collectors.toList;
+import java.util.concurrent.CompletableFuture;
 
 abstract class CfCommon {
 
+    /**
+     * Shared, already completed successful validation returned by combinators. Sharing it keeps successful
+     * validations allocation free, it cannot be obtruded so no caller can change result of other validations.
+     */
+    static final CompletableFuture<ValidationResult> VALID = new SharedValid();
+
     private CfCommon() {
     }
 
-    static <T> CompletableFuture<List<T>> sequence(CompletableFuture<T>[] cfs) {
-        return allOf(cfs)
-                .thenApply(ignore -> Arrays.stream(cfs)
-                        .map(CompletableFuture::join)
-                        .collect(toList())
-                );
+    /**
+     * @return <code>true</code> when future is already completed with successful validation result (so there is
+     * nothing to wait for nor to merge)
+     */
+    static boolean isValid(CompletableFuture<ValidationResult> result) {
+        return result == VALID
+                || (result.isDone() && !result.isCompletedExceptionally() && result.join().isSuccess());
     }
 
-    static <T> CompletableFuture<List<T>> sequence(List<CompletableFuture<T>> cfs) {
-        return allOf(cfs.toArray(CompletableFuture[]::new))
-                .thenApply(ignore -> cfs.stream()
-                        .map(CompletableFuture::join)
-                        .collect(toList())
-                );
+    private static final class SharedValid extends CompletableFuture<ValidationResult> {
+
+        private SharedValid() {
+            complete(ValidationResult.success());
+        }
+
+        // complete, completeExceptionally and cancel have no effect on completed future, only obtruding could change it
+
+        @Override
+        public void obtrudeValue(ValidationResult value) {
+            throw new UnsupportedOperationException("Shared successful validation cannot be obtruded");
+        }
+
+        @Override
+        public void obtrudeException(Throwable ex) {
+            throw new UnsupportedOperationException("Shared successful validation cannot be obtruded");
+        }
     }
 
 }
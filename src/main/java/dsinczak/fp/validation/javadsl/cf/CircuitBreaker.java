@@ -0,0 +1,254 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.VALID;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * Lightweight circuit breaker for (remote) validators. Outcomes of protected validations are recorded in count based
+ * sliding window of last <code>windowSize</code> calls, validation that completes exceptionally (or throws) is
+ * considered failure (use {@link Validators#withTimeout(Validator, Duration)} to turn slow validations into failures).
+ * <ul>
+ *     <li>{@link State#CLOSED} - validations are executed, when window is full and failure rate reaches
+ *     <code>failureRatePercent</code> breaker opens</li>
+ *     <li>{@link State#OPEN} - validations are not executed, configured result is returned instead. After
+ *     <code>openDuration</code> breaker lets single trial validation through</li>
+ *     <li>{@link State#HALF_OPEN} - trial validation is running, its outcome closes or opens the breaker again. Trial
+ *     that does not complete within <code>openDuration</code> opens the breaker again (so next trial can be made
+ *     after another <code>openDuration</code>)</li>
+ * </ul>
+ * State is tracked with atomics only (no locks), so under heavy concurrency window counters are approximate.
+ * Listeners are notified after state has changed, by listener executor (common fork-join pool by default) and not
+ * by thread running validation, one transition at a time in order of transitions.
+ * One breaker instance should protect one dependency, it can be shared by many validators calling that dependency.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onTransition(State from, State to);
+    }
+
+    private enum Permission {
+        PERMITTED, TRIAL, REJECTED
+    }
+
+    private final int windowSize;
+    private final int failureRatePercent;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+    private final Executor listenerExecutor;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicLong trialStartedAt = new AtomicLong();
+    private final AtomicReference<Window> window;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Queue<Transition> transitions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    CircuitBreaker(int windowSize, int failureRatePercent, Duration openDuration, LongSupplier nanoClock, Executor listenerExecutor) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Circuit breaker window must hold at least one call");
+        }
+        if (failureRatePercent < 1 || failureRatePercent > 100) {
+            throw new IllegalArgumentException("Failure rate must be between 1 and 100 percent");
+        }
+        this.windowSize = windowSize;
+        this.failureRatePercent = failureRatePercent;
+        this.openDurationNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+        this.listenerExecutor = listenerExecutor;
+        this.window = new AtomicReference<>(new Window(windowSize));
+    }
+
+    public static CircuitBreaker of(int windowSize, int failureRatePercent, Duration openDuration) {
+        return of(windowSize, failureRatePercent, openDuration, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param listenerExecutor executor notifying transition listeners
+     */
+    public static CircuitBreaker of(int windowSize, int failureRatePercent, Duration openDuration, Executor listenerExecutor) {
+        return new CircuitBreaker(windowSize, failureRatePercent, openDuration, System::nanoTime, listenerExecutor);
+    }
+
+    public State state() {
+        return state.get();
+    }
+
+    public CircuitBreaker onTransition(Listener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    <T> Validator<T> protect(Validator<T> validator, ValidationResult whenOpen) {
+        var whenOpenResult = whenOpen.isSuccess() ? VALID : completedFuture(whenOpen);
+        return new DecoratedValidator<>(validator, "circuitBreaker", protectedValidator -> t -> {
+            var permission = acquirePermission();
+            if (permission == Permission.REJECTED) {
+                return whenOpenResult;
+            }
+            CompletableFuture<ValidationResult> result;
+            try {
+                result = protectedValidator.validate(t);
+            } catch (Throwable throwable) {
+                onOutcome(permission, true);
+                return CompletableFuture.failedFuture(throwable);
+            }
+            if (result.isDone()) {
+                onOutcome(permission, result.isCompletedExceptionally());
+                return result;
+            }
+            return result.whenComplete((validationResult, throwable) -> onOutcome(permission, throwable != null));
+        });
+    }
+
+    private Permission acquirePermission() {
+        switch (state.get()) {
+            case CLOSED:
+                return Permission.PERMITTED;
+            case OPEN:
+                var now = nanoClock.getAsLong();
+                if (now - openedAt.get() < openDurationNanos) {
+                    return Permission.REJECTED;
+                }
+                // set before transition, so trial is never seen as pending since previous trial
+                trialStartedAt.set(now);
+                return transition(State.OPEN, State.HALF_OPEN) ? Permission.TRIAL : Permission.REJECTED;
+            default:
+                if (nanoClock.getAsLong() - trialStartedAt.get() >= openDurationNanos) {
+                    // trial is still pending (e.g. future that never completes), its late outcome is still recorded
+                    open(State.HALF_OPEN);
+                }
+                return Permission.REJECTED;
+        }
+    }
+
+    private void onOutcome(Permission permission, boolean failure) {
+        if (permission == Permission.TRIAL) {
+            if (failure) {
+                open(State.HALF_OPEN);
+            } else {
+                window.set(new Window(windowSize));
+                transition(State.HALF_OPEN, State.CLOSED);
+            }
+        } else if (state.get() == State.CLOSED && window.get().record(failure, failureRatePercent)) {
+            open(State.CLOSED);
+        }
+    }
+
+    private void open(State from) {
+        openedAt.set(nanoClock.getAsLong());
+        transition(from, State.OPEN);
+    }
+
+    private boolean transition(State from, State to) {
+        if (state.compareAndSet(from, to)) {
+            if (!listeners.isEmpty()) {
+                transitions.add(new Transition(from, to));
+                notifyListeners();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void notifyListeners() {
+        if (wip.getAndIncrement() != 0) {
+            // transition will be delivered by running notification
+            return;
+        }
+        try {
+            listenerExecutor.execute(this::drainTransitions);
+        } catch (Throwable rejected) {
+            drainTransitions();
+        }
+    }
+
+    private void drainTransitions() {
+        int missed = 1;
+        do {
+            Transition transition;
+            while ((transition = transitions.poll()) != null) {
+                for (Listener listener : listeners) {
+                    try {
+                        listener.onTransition(transition.from, transition.to);
+                    } catch (Throwable ignored) {
+                        // Listener must not stop notification of other listeners
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{state=" + state.get() + "}";
+    }
+
+    private static final class Transition {
+        private final State from;
+        private final State to;
+
+        private Transition(State from, State to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * Ring of last call outcomes. Window is never cleared in place, new one is created instead, so late records
+     * (of calls started before reset) cannot corrupt counters.
+     */
+    private static final class Window {
+        private static final int EMPTY = 0;
+        private static final int SUCCESS = 1;
+        private static final int FAILURE = 2;
+
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong cursor = new AtomicLong();
+        private final AtomicInteger recorded = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private Window(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        /**
+         * @return <code>true</code> when window is full and failure rate threshold is reached
+         */
+        private boolean record(boolean failure, int failureRatePercent) {
+            var slot = (int) (cursor.getAndIncrement() % outcomes.length());
+            var previous = outcomes.getAndSet(slot, failure ? FAILURE : SUCCESS);
+            if (previous == EMPTY) {
+                recorded.incrementAndGet();
+            } else if (previous == FAILURE) {
+                failures.decrementAndGet();
+            }
+            var currentFailures = failure ? failures.incrementAndGet() : failures.get();
+            return recorded.get() >= outcomes.length()
+                    && currentFailures * 100L >= (long) failureRatePercent * outcomes.length();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Point in time until which validation has to complete. Deadline set with
+ * {@link Validators#withDeadline(Validator, Duration, dsinczak.fp.validation.javadsl.Message)} is visible to all
+ * validators of the tree (also the ones started later, e.g. by fail fast combinators or execution policies) through
+ * {@link Deadline#current()}, so {@link Validators#withTimeout(Validator, Duration, dsinczak.fp.validation.javadsl.Message)}
+ * never waits longer than remaining budget. When deadline is the binding limit tree is timed out with deadline's
+ * result only, so it does not race with timeouts of nested validators.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+    private static final ValidationResult EXCEEDED = ValidationResult.failed("Validation deadline exceeded");
+
+    private final long deadlineNanos;
+    private final ValidationResult timedOut;
+
+    private Deadline(long deadlineNanos, ValidationResult timedOut) {
+        this.deadlineNanos = deadlineNanos;
+        this.timedOut = timedOut;
+    }
+
+    public static Deadline after(Duration budget) {
+        return after(budget, EXCEEDED);
+    }
+
+    static Deadline after(Duration budget, ValidationResult timedOut) {
+        return new Deadline(System.nanoTime() + budget.toNanos(), timedOut);
+    }
+
+    /**
+     * @return deadline of currently executed validation tree (if any)
+     */
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, remainingNanos()));
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    ValidationResult timedOut() {
+        return timedOut;
+    }
+
+    Deadline earliest(Deadline other) {
+        return other == null || deadlineNanos - other.deadlineNanos < 0 ? this : other;
+    }
+
+    static Deadline currentOrNull() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run action with given deadline set as current one (and restore previous afterwards).
+     */
+    static <R> R within(Deadline deadline, Supplier<R> action) {
+        var previous = CURRENT.get();
+        if (previous == deadline) {
+            return action.get();
+        }
+        CURRENT.set(deadline);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{remaining=" + remaining() + "}";
+    }
+}
@@ -0,0 +1,36 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+
+/**
+ * Node of validator wrapped with behaviour that does not change what is validated (timeout, deadline, sampling,
+ * circuit breaker, execution policy). Wrapped validator stays visible in the graph and decoration can be applied
+ * again to rewritten validator, so e.g. compiling validator with timeout compiles validator and keeps the timeout.
+ */
+class DecoratedValidator<T> implements Validator<T> {
+
+    private final Validator<T> validator;
+    private final String name;
+    private final UnaryOperator<Validator<T>> decoration;
+    private final Validator<T> decorated;
+
+    DecoratedValidator(Validator<T> validator, String name, UnaryOperator<Validator<T>> decoration) {
+        this.validator = validator;
+        this.name = name;
+        this.decoration = decoration;
+        this.decorated = decoration.apply(validator);
+    }
+
+    @Override
+    public CompletableFuture<ValidationResult> validate(T t) {
+        return decorated.validate(t);
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitDecorated(validator, name, decoration);
+    }
+}
@@ -0,0 +1,28 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+class ExceptionallyValidator<T> implements Validator<T> {
+
+    private final Validator<T> validator;
+    private final Function<Throwable, ValidationResult> handler;
+
+    ExceptionallyValidator(Validator<T> validator, Function<Throwable, ValidationResult> handler) {
+        this.validator = validator;
+        this.handler = handler;
+    }
+
+    @Override
+    public CompletableFuture<ValidationResult> validate(T t) {
+        var result = validator.validate(t);
+        return CfCommon.isValid(result) ? result : result.exceptionally(handler);
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitExceptionally(validator, handler);
+    }
+}
@@ -0,0 +1,60 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Execution policy decides where and how validator (or whole subtree of validators) is executed. Policies can be
+ * attached to any validator with {@link Validator#withPolicy(ExecutionPolicy)}, so e.g. CPU heavy checks can be run
+ * on fork-join pool while IO checks run on bounded IO pool limited with {@link Bulkhead}.
+ */
+public interface ExecutionPolicy {
+
+    <T> Validator<T> applyTo(Validator<T> validator);
+
+    /**
+     * @return policy that applies this policy first and then wraps result with <code>outer</code> policy, e.g.
+     * <code>executeOn(ioPool).andThen(bulkhead)</code> limits concurrent executions with bulkhead and then runs
+     * validator on IO pool
+     */
+    default ExecutionPolicy andThen(ExecutionPolicy outer) {
+        var inner = this;
+        return new ExecutionPolicy() {
+            @Override
+            public <T> Validator<T> applyTo(Validator<T> validator) {
+                return outer.applyTo(inner.applyTo(validator));
+            }
+        };
+    }
+
+    /**
+     * @return policy running validator on given executor. Validator is started (with all synchronous work done by
+     * validator and its children) by executor thread.
+     */
+    static ExecutionPolicy executeOn(Executor executor) {
+        return new ExecutionPolicy() {
+            @Override
+            public <T> Validator<T> applyTo(Validator<T> validator) {
+                return new DecoratedValidator<>(validator, "executeOn", executed -> t -> {
+                    var deadline = Deadline.currentOrNull();
+                    try {
+                        return CompletableFuture.supplyAsync(() -> Deadline.within(deadline, () -> executed.validate(t)), executor)
+                                .thenCompose(Function.<CompletableFuture<ValidationResult>>identity());
+                    } catch (Throwable rejected) {
+                        return CompletableFuture.failedFuture(rejected);
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * @see Bulkhead
+     */
+    static Bulkhead bulkhead(int maxConcurrent, int maxQueued) {
+        return new Bulkhead(maxConcurrent, maxQueued);
+    }
+}
@@ -0,0 +1,27 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+class ExtractingValidator<A, B> implements Validator<A> {
+
+    private final Function<A, B> extractor;
+    private final Validator<B> validator;
+
+    ExtractingValidator(Function<A, B> extractor, Validator<B> validator) {
+        this.extractor = extractor;
+        this.validator = validator;
+    }
+
+    @Override
+    public CompletableFuture<ValidationResult> validate(A a) {
+        return validator.validate(extractor.apply(a));
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitExtract(extractor, validator);
+    }
+}
@@ -3,8 +3,12 @@ package dsinczak.fp.validation.javadsl.cf;
 import dsinczak.fp.validation.javadsl.ValidationResult;
 
 import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
 import java.util.concurrent.CompletableFuture;
 
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.VALID;
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.isValid;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
 public class FailFastForEachValidator<T> implements Validator<Iterable<T>> {
@@ -15,25 +19,47 @@ public class FailFastForEachValidator<T> implements Validator<Iterable<T>> {
         this.validator = validator;
     }
 
+    Validator<T> validator() {
+        return validator;
+    }
+
     @Override
     public CompletableFuture<ValidationResult> validate(Iterable<T> iterable) {
+        if (iterable instanceof RandomAccess && iterable instanceof List) {
+            return validate((List<T>) iterable, 0);
+        }
         return validate(iterable.iterator());
     }
 
-    private CompletableFuture<ValidationResult> validate(Iterator<T> iterator) {
-        if(!iterator.hasNext()) {
-            return Validator.valid();
+    private CompletableFuture<ValidationResult> validate(List<T> list, int from) {
+        for (int i = from; i < list.size(); i++) {
+            var result = validator.validate(list.get(i));
+            if (!isValid(result)) {
+                var next = i + 1;
+                var deadline = Deadline.currentOrNull();
+                return result.thenCompose(validationResult -> validationResult.isSuccess()
+                        ? Deadline.within(deadline, () -> validate(list, next))
+                        : completedFuture(validationResult));
+            }
         }
+        return VALID;
+    }
 
-        var next = iterator.next();
-
-        return validator.validate(next).thenCompose(nextResult -> {
-            if(nextResult.isSuccess()) {
-                return this.validate(iterator);
-            } else {
-                return completedFuture(nextResult);
+    private CompletableFuture<ValidationResult> validate(Iterator<T> iterator) {
+        while (iterator.hasNext()) {
+            var result = validator.validate(iterator.next());
+            if (!isValid(result)) {
+                var deadline = Deadline.currentOrNull();
+                return result.thenCompose(validationResult -> validationResult.isSuccess()
+                        ? Deadline.within(deadline, () -> validate(iterator))
+                        : completedFuture(validationResult));
             }
-        });
+        }
+        return VALID;
     }
 
-}
\ No newline at end of file
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitForEachFailFast(validator);
+    }
+}
@@ -2,47 +2,52 @@ package dsinczak.fp.validation.javadsl.cf;
 
 import dsinczak.fp.validation.javadsl.ValidationResult;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Function;
 
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.VALID;
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.isValid;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
 class FailFastMergedValidator<T> implements Validator<T> {
 
-    private List<Validator<T>> validators;
+    // Random access list, so it can be iterated without allocating iterator
+    private final List<Validator<T>> validators;
 
     @SafeVarargs
     FailFastMergedValidator(Validator<T>... validators) {
-        this.validators = Arrays.asList(validators);
+        this.validators = List.of(validators);
     }
 
     FailFastMergedValidator(List<Validator<T>> validators) {
-        this.validators = validators;
+        this.validators = List.copyOf(validators);
+    }
+
+    List<Validator<T>> validators() {
+        return validators;
     }
 
     @Override
     public CompletableFuture<ValidationResult> validate(T t) {
-        if (validators.isEmpty()) {
-            return Validator.valid();
-        }
-
-        var validator = validators.get(0);
-        return validator.validate(t).thenCompose(validationCircuitBreaker(t));
+        return validate(t, 0);
     }
 
-    private Function<ValidationResult, CompletableFuture<ValidationResult>> validationCircuitBreaker(T t) {
-        return validationResult -> {
-            if (validationResult.isSuccess()) {
-                return new FailFastMergedValidator<>(
-                        validators.size() == 1
-                                ? List.of()
-                                : validators.subList(1, validators.size())
-                ).validate(t);
-            } else {
-                return completedFuture(validationResult);
+    private CompletableFuture<ValidationResult> validate(T t, int from) {
+        for (int i = from; i < validators.size(); i++) {
+            var result = validators.get(i).validate(t);
+            if (!isValid(result)) {
+                var next = i + 1;
+                var deadline = Deadline.currentOrNull();
+                return result.thenCompose(validationResult -> validationResult.isSuccess()
+                        ? Deadline.within(deadline, () -> validate(t, next))
+                        : completedFuture(validationResult));
             }
-        };
+        }
+        return VALID;
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitMergeFailFast(validators);
     }
 }
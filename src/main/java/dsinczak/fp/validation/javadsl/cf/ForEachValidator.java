@@ -2,28 +2,96 @@ package dsinczak.fp.validation.javadsl.cf;
 
 import dsinczak.fp.validation.javadsl.ValidationResult;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
 import java.util.concurrent.CompletableFuture;
 
-import static dsinczak.fp.validation.javadsl.cf.CfCommon.sequence;
-import static java.util.stream.Collectors.toList;
-import static java.util.stream.StreamSupport.stream;
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.VALID;
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.isValid;
+import static dsinczak.fp.validation.javadsl.cf.MergedValidator.FULL_DETAIL;
 
 public class ForEachValidator<T> implements Validator<Iterable<T>> {
 
     private Validator<T> validator;
+    private final int sampleSize;
 
     ForEachValidator(Validator<T> validator) {
+        this(validator, FULL_DETAIL);
+    }
+
+    ForEachValidator(Validator<T> validator, int sampleSize) {
+        if (sampleSize < FULL_DETAIL) {
+            throw new IllegalArgumentException("Sample size cannot be negative");
+        }
         this.validator = validator;
+        this.sampleSize = sampleSize;
+    }
+
+    Validator<T> validator() {
+        return validator;
+    }
+
+    int sampleSize() {
+        return sampleSize;
     }
 
     @Override
     public CompletableFuture<ValidationResult> validate(Iterable<T> iterable) {
-        var appliedValidators = stream(iterable.spliterator(), false)
-                .map(t -> validator.validate(t))
-                .collect(toList());
-        return sequence(appliedValidators)
-                .thenApply(validationResults -> validationResults.stream()
-                        .reduce(ValidationResult.success(), ValidationResult.concat)
-                );
+        // As long as elements are validated immediately with success there is nothing to merge
+        if (iterable instanceof RandomAccess && iterable instanceof List) {
+            var list = (List<T>) iterable;
+            // Size is read once, so merge slots always match validated elements (list can be modified concurrently)
+            var size = list.size();
+            for (int i = 0; i < size; i++) {
+                var result = validator.validate(list.get(i));
+                if (!isValid(result)) {
+                    return mergeRemaining(result, list, i, size);
+                }
+            }
+        } else {
+            var iterator = iterable.iterator();
+            var validated = 0;
+            while (iterator.hasNext()) {
+                var result = validator.validate(iterator.next());
+                validated++;
+                if (!isValid(result)) {
+                    return mergeRemaining(result, iterator, validated - 1);
+                }
+            }
+        }
+        return VALID;
+    }
+
+    private CompletableFuture<ValidationResult> mergeRemaining(CompletableFuture<ValidationResult> firstResult, List<T> list, int first, int size) {
+        var merge = new OrderedMerge(size - first, sampleSize, first);
+        merge.add(0, firstResult);
+        for (int i = first + 1; i < size; i++) {
+            merge.add(i - first, validator.validate(list.get(i)));
+        }
+        return merge.result();
+    }
+
+    private CompletableFuture<ValidationResult> mergeRemaining(CompletableFuture<ValidationResult> firstResult, Iterator<T> remaining, int first) {
+        // Number of remaining elements is not known up front (size of weakly consistent collections may not match
+        // what their iterator returns) so validations are buffered before merging
+        var appliedValidators = new ArrayList<CompletableFuture<ValidationResult>>();
+        appliedValidators.add(firstResult);
+        while (remaining.hasNext()) {
+            appliedValidators.add(validator.validate(remaining.next()));
+        }
+        var merge = new OrderedMerge(appliedValidators.size(), sampleSize, first);
+        for (int i = 0; i < appliedValidators.size(); i++) {
+            merge.add(i, appliedValidators.set(i, null));
+        }
+        return merge.result();
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return sampleSize == FULL_DETAIL
+                ? visitor.visitForEach(validator)
+                : visitor.visitForEachAggregated(validator, sampleSize);
     }
 }
@@ -0,0 +1,37 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.VALID;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+class IfExistsValidator<A, B> implements Validator<A> {
+
+    private final Function<A, B> extractor;
+    private final Validator<B> validator;
+    private final ValidationResult orElse;
+
+    IfExistsValidator(Function<A, B> extractor, Validator<B> validator, ValidationResult orElse) {
+        this.extractor = extractor;
+        this.validator = validator;
+        this.orElse = orElse;
+    }
+
+    @Override
+    public CompletableFuture<ValidationResult> validate(A a) {
+        var value = extractor.apply(a);
+        if (value != null) {
+            return validator.validate(value);
+        }
+        // Failed future is not shared as it could be completed (obtruded) by the caller
+        return orElse.isSuccess() ? VALID : completedFuture(orElse);
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitIfExists(extractor, validator, orElse);
+    }
+}
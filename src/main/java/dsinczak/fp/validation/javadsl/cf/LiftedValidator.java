@@ -0,0 +1,41 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.VALID;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+class LiftedValidator<T> implements Validator<T> {
+
+    private final dsinczak.fp.validation.javadsl.ne.Validator<T> noEffectValidator;
+    // null when validator is run by calling thread
+    private final Executor executor;
+
+    LiftedValidator(dsinczak.fp.validation.javadsl.ne.Validator<T> noEffectValidator, Executor executor) {
+        this.noEffectValidator = noEffectValidator;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<ValidationResult> validate(T t) {
+        if (executor != null) {
+            return supplyAsync(() -> noEffectValidator.validate(t), executor);
+        }
+        try {
+            var result = noEffectValidator.validate(t);
+            return result.isSuccess() ? VALID : completedFuture(result);
+        } catch (Throwable throwable) {
+            return failedFuture(throwable);
+        }
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitLift(noEffectValidator, executor);
+    }
+}
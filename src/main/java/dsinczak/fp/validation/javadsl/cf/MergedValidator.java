@@ -2,34 +2,73 @@ package dsinczak.fp.validation.javadsl.cf;
 
 import dsinczak.fp.validation.javadsl.ValidationResult;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
-import static dsinczak.fp.validation.javadsl.cf.CfCommon.sequence;
-import static java.util.stream.Collectors.toList;
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.VALID;
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.isValid;
 
 class MergedValidator<T> implements Validator<T> {
 
-    private List<Validator<T>> validators;
+    /**
+     * Sample size marking that all messages are kept (no aggregation of equal messages).
+     */
+    static final int FULL_DETAIL = -1;
+
+    // Random access list, so it can be iterated without allocating iterator
+    private final List<Validator<T>> validators;
+    private final int sampleSize;
 
     MergedValidator(List<Validator<T>> validators) {
-        this.validators = validators;
+        this(validators, FULL_DETAIL);
     }
 
     @SafeVarargs
     MergedValidator(Validator<T>... validators) {
-        this.validators = Arrays.asList(validators);
+        this(List.of(validators), FULL_DETAIL);
+    }
+
+    MergedValidator(List<Validator<T>> validators, int sampleSize) {
+        if (sampleSize < FULL_DETAIL) {
+            throw new IllegalArgumentException("Sample size cannot be negative");
+        }
+        this.validators = List.copyOf(validators);
+        this.sampleSize = sampleSize;
+    }
+
+    List<Validator<T>> validators() {
+        return validators;
+    }
+
+    int sampleSize() {
+        return sampleSize;
     }
 
     @Override
     public CompletableFuture<ValidationResult> validate(T t) {
-        var appliedValidators = validators.stream()
-                .map(validator -> validator.apply(t))
-                .collect(toList());
-        return sequence(appliedValidators)
-                .thenApply(validationResults -> validationResults.stream()
-                        .reduce(ValidationResult.success(), ValidationResult.concat)
-                );
+        // As long as validators complete immediately with success there is nothing to merge
+        for (int i = 0; i < validators.size(); i++) {
+            var result = validators.get(i).validate(t);
+            if (!isValid(result)) {
+                return mergeRemaining(t, i, result);
+            }
+        }
+        return VALID;
+    }
+
+    private CompletableFuture<ValidationResult> mergeRemaining(T t, int first, CompletableFuture<ValidationResult> firstResult) {
+        var merge = new OrderedMerge(validators.size() - first, sampleSize, first);
+        merge.add(0, firstResult);
+        for (int i = first + 1; i < validators.size(); i++) {
+            merge.add(i - first, validators.get(i).validate(t));
+        }
+        return merge.result();
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return sampleSize == FULL_DETAIL
+                ? visitor.visitMerge(validators)
+                : visitor.visitMergeAggregated(validators, sampleSize);
     }
 }
@@ -0,0 +1,29 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.VALID;
+
+/**
+ * Identity element of validators monoid. Kept as singleton so it can be recognized (and dropped) while compiling
+ * validator trees.
+ */
+final class NeutralValidator implements Validator<Object> {
+
+    static final NeutralValidator INSTANCE = new NeutralValidator();
+
+    private NeutralValidator() {
+    }
+
+    @Override
+    public CompletableFuture<ValidationResult> validate(Object o) {
+        return VALID;
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitNeutral();
+    }
+}
@@ -0,0 +1,127 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.AggregatedFailures;
+import dsinczak.fp.validation.javadsl.ResultAccumulator;
+import dsinczak.fp.validation.javadsl.ValidationContext;
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Streaming aggregator of validation results. Every added future has its slot, as soon as future completes its result
+ * is stored in the slot and all contiguous completed slots (counting from the first not yet folded one) are folded into
+ * accumulator, so results are merged in order but without waiting for the last future. Folded slots are cleared and
+ * futures are not referenced after completion.
+ * Folding is serialized lock-free with work-in-progress counter: the thread that increments it from zero drains all
+ * the slots it can, other threads only leave their results in slots.
+ * First exceptional completion completes merged result exceptionally (without waiting for remaining futures).
+ * Messages of failed results are collected with {@link ResultAccumulator} from {@link ValidationContext}, single
+ * failure is passed as is.
+ * With non negative sample size equal messages are aggregated (see {@link AggregatedFailures}), slots are then reported
+ * with indices shifted by given offset (number of elements validated with success before merge was started).
+ */
+final class OrderedMerge {
+
+    private final AtomicReferenceArray<ValidationResult> slots;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final CompletableFuture<ValidationResult> result = new CompletableFuture<>();
+    private final int sampleSize;
+    private final int indexOffset;
+
+    // guarded by wip
+    private int folded;
+    private ValidationResult failure;
+    private ResultAccumulator accumulator;
+    private AggregatedFailures aggregated;
+
+    OrderedMerge(int size) {
+        this(size, MergedValidator.FULL_DETAIL, 0);
+    }
+
+    OrderedMerge(int size, int sampleSize, int indexOffset) {
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sampleSize = sampleSize;
+        this.indexOffset = indexOffset;
+        if (size == 0) {
+            result.complete(ValidationResult.success());
+        }
+    }
+
+    void add(int index, CompletableFuture<ValidationResult> validation) {
+        if (validation.isDone() && !validation.isCompletedExceptionally()) {
+            complete(index, validation.join());
+        } else {
+            validation.whenComplete((validationResult, throwable) -> {
+                if (throwable != null) {
+                    result.completeExceptionally(throwable instanceof CompletionException
+                            ? throwable
+                            : new CompletionException(throwable));
+                } else {
+                    complete(index, validationResult);
+                }
+            });
+        }
+    }
+
+    CompletableFuture<ValidationResult> result() {
+        return result;
+    }
+
+    private void complete(int index, ValidationResult validationResult) {
+        slots.set(index, validationResult);
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        var missed = 1;
+        do {
+            ValidationResult next;
+            while (folded < slots.length() && (next = slots.get(folded)) != null) {
+                slots.lazySet(folded, null);
+                fold(folded++, next);
+            }
+            if (folded == slots.length()) {
+                result.complete(merged());
+                return;
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void fold(int index, ValidationResult validationResult) {
+        if (!validationResult.isSuccess() && sampleSize != MergedValidator.FULL_DETAIL) {
+            if (aggregated == null) {
+                aggregated = new AggregatedFailures(sampleSize);
+            }
+            aggregated.add(indexOffset + index, validationResult);
+        } else if (!validationResult.isSuccess() && failure == null) {
+            failure = validationResult;
+        } else if (!validationResult.isSuccess()) {
+            if (accumulator == null) {
+                // Taken from context of folding thread and given back to it by the thread completing the merge
+                accumulator = ValidationContext.current().acquire();
+                accumulator.add(failure);
+            }
+            accumulator.add(validationResult);
+        }
+    }
+
+    private ValidationResult merged() {
+        if (aggregated != null) {
+            return aggregated.toValidationResult();
+        }
+        if (accumulator != null) {
+            var merged = accumulator.toValidationResult();
+            accumulator.release();
+            accumulator = null;
+            return merged;
+        }
+        return failure != null ? failure : ValidationResult.success();
+    }
+}
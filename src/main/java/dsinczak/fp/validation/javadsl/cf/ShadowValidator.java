@@ -0,0 +1,105 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.VALID;
+
+/**
+ * Validator running another (e.g. new, expensive) validator in the background without affecting validated flow:
+ * validation always succeeds immediately, while shadowed validator is started by executor and its result is passed
+ * to sink (e.g. to be compared with results of rules it is going to replace, or logged).
+ * Shadow validation is in flight from submitting to executor until its future completes, at most
+ * <code>maxInFlight</code> shadow validations are in flight at the same time. When the limit is reached (or executor
+ * rejects the task) value is not validated in shadow at all and drop is counted, so shadow never blocks callers nor
+ * grows unbounded queue under load. Exceptional completions are not passed to sink, use
+ * {@link Validator#exceptionally(dsinczak.fp.validation.javadsl.ErrorCase...)} to pass them as results.
+ *
+ * @param <T> validated type
+ */
+public final class ShadowValidator<T> implements Validator<T> {
+
+    static final int DEFAULT_MAX_IN_FLIGHT = 256;
+
+    private final Validator<T> validator;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final BiConsumer<T, ValidationResult> sink;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+
+    ShadowValidator(Validator<T> validator, Executor executor, int maxInFlight, BiConsumer<T, ValidationResult> sink) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Shadow must allow at least one validation in flight");
+        }
+        this.validator = validator;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.sink = sink;
+    }
+
+    @Override
+    public CompletableFuture<ValidationResult> validate(T t) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            drop();
+            return VALID;
+        }
+        try {
+            executor.execute(() -> start(t));
+        } catch (Throwable rejected) {
+            drop();
+        }
+        return VALID;
+    }
+
+    /**
+     * Shadowed validator is child of this node, rewritten shadow validator has its own in flight limit and counters.
+     */
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitDecorated(validator, "shadow(maxInFlight=" + maxInFlight + ")",
+                shadowed -> new ShadowValidator<>(shadowed, executor, maxInFlight, sink));
+    }
+
+    public int inFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return number of values that were not validated in shadow because of load
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    private void start(T t) {
+        CompletableFuture<ValidationResult> result;
+        try {
+            result = validator.validate(t);
+        } catch (Throwable ignored) {
+            // Shadow validation must not affect anything
+            inFlight.decrementAndGet();
+            return;
+        }
+        result.whenComplete((validationResult, throwable) -> {
+            try {
+                if (throwable == null) {
+                    sink.accept(t, validationResult);
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private void drop() {
+        inFlight.decrementAndGet();
+        dropped.increment();
+    }
+}
@@ -5,12 +5,12 @@ import dsinczak.fp.validation.javadsl.Message;
 import dsinczak.fp.validation.javadsl.Message.ParametrizedMessage;
 import dsinczak.fp.validation.javadsl.ValidationResult;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 import static dsinczak.fp.validation.javadsl.ValidationResult.failed;
-import static dsinczak.fp.validation.javadsl.ValidationResult.success;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
 /**
@@ -52,8 +52,37 @@ public interface Validator<T> extends Function<T, CompletableFuture<ValidationRe
         return Validators.exceptionally(this, cases);
     }
 
+    /**
+     * Dispatch to visitor method matching this node of validator graph. Validators not built with {@link Validators}
+     * are leaves of the graph.
+     */
+    default <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitLeaf(this);
+    }
+
+    default Validator<T> withPolicy(ExecutionPolicy policy) {
+        return Validators.withPolicy(this, policy);
+    }
+
+    default Validator<T> withTimeout(Duration timeout, Message timeoutMessage) {
+        return Validators.withTimeout(this, timeout, timeoutMessage);
+    }
+
+    default Validator<T> withTimeout(Duration timeout) {
+        return Validators.withTimeout(this, timeout);
+    }
+
+    default Validator<T> withDeadline(Duration budget, Message timeoutMessage) {
+        return Validators.withDeadline(this, budget, timeoutMessage);
+    }
+
+    default Validator<T> withCircuitBreaker(CircuitBreaker circuitBreaker, ValidationResult whenOpen) {
+        return Validators.withCircuitBreaker(this, circuitBreaker, whenOpen);
+    }
+
+    @SuppressWarnings("unchecked")
     public static <A> Validator<A> neutral() {
-        return a -> Validator.valid();
+        return (Validator<A>) NeutralValidator.INSTANCE;
     }
 
     //////////////////////////////////////////////////////////
@@ -61,10 +90,11 @@ public interface Validator<T> extends Function<T, CompletableFuture<ValidationRe
     //////////////////////////////////////////////////////////
 
     /**
-     * @return SuccessfulValidation instance
+     * @return new future completed with SuccessfulValidation instance (combinators return shared successful
+     * validation internally, which cannot be obtruded)
      */
     public static CompletableFuture<ValidationResult> valid() {
-        return completedFuture(success());
+        return completedFuture(ValidationResult.success());
     }
 
     public static CompletableFuture<ValidationResult> invalid(Message message) {
@@ -0,0 +1,98 @@
+package dsinczak.fp.validation.javadsl.cf;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Visitor rebuilding validator graph bottom up. By default every node is rebuilt with rewritten children and leaves
+ * (as well as no effect validators of lift nodes) are left as they are, so subclasses override only nodes they want to change (e.g. wrap leaves with metrics).
+ * Rewritten validator must validate the same type as the original one.
+ */
+public abstract class ValidatorRewriter implements ValidatorVisitor<Validator<?>> {
+
+    protected ValidatorRewriter() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public final <T> Validator<T> rewrite(Validator<T> validator) {
+        return (Validator<T>) validator.accept(this);
+    }
+
+    protected final <T> List<Validator<T>> rewriteAll(List<Validator<T>> validators) {
+        var rewritten = new ArrayList<Validator<T>>(validators.size());
+        for (int i = 0; i < validators.size(); i++) {
+            rewritten.add(rewrite(validators.get(i)));
+        }
+        return rewritten;
+    }
+
+    @Override
+    public Validator<?> visitNeutral() {
+        return Validator.neutral();
+    }
+
+    @Override
+    public <T> Validator<?> visitMerge(List<Validator<T>> validators) {
+        return new MergedValidator<>(rewriteAll(validators));
+    }
+
+    @Override
+    public <T> Validator<?> visitMergeFailFast(List<Validator<T>> validators) {
+        return new FailFastMergedValidator<>(rewriteAll(validators));
+    }
+
+    @Override
+    public <T> Validator<?> visitMergeAggregated(List<Validator<T>> validators, int sampleSize) {
+        return new MergedValidator<>(rewriteAll(validators), sampleSize);
+    }
+
+    @Override
+    public <T> Validator<?> visitForEach(Validator<T> validator) {
+        return new ForEachValidator<>(rewrite(validator));
+    }
+
+    @Override
+    public <T> Validator<?> visitForEachFailFast(Validator<T> validator) {
+        return new FailFastForEachValidator<>(rewrite(validator));
+    }
+
+    @Override
+    public <T> Validator<?> visitForEachAggregated(Validator<T> validator, int sampleSize) {
+        return new ForEachValidator<>(rewrite(validator), sampleSize);
+    }
+
+    @Override
+    public <A, B> Validator<?> visitExtract(Function<A, B> extractor, Validator<B> validator) {
+        return new ExtractingValidator<>(extractor, rewrite(validator));
+    }
+
+    @Override
+    public <A, B> Validator<?> visitIfExists(Function<A, B> extractor, Validator<B> validator, ValidationResult orElse) {
+        return new IfExistsValidator<>(extractor, rewrite(validator), orElse);
+    }
+
+    @Override
+    public <T> Validator<?> visitExceptionally(Validator<T> validator, Function<Throwable, ValidationResult> handler) {
+        return new ExceptionallyValidator<>(rewrite(validator), handler);
+    }
+
+    @Override
+    public <T> Validator<?> visitLift(dsinczak.fp.validation.javadsl.ne.Validator<T> validator, Executor executor) {
+        return new LiftedValidator<>(validator, executor);
+    }
+
+    @Override
+    public <T> Validator<?> visitDecorated(Validator<T> validator, String name, UnaryOperator<Validator<T>> decoration) {
+        return new DecoratedValidator<>(rewrite(validator), name, decoration);
+    }
+
+    @Override
+    public <T> Validator<?> visitLeaf(Validator<T> validator) {
+        return validator;
+    }
+}
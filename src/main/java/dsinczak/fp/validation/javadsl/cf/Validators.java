@@ -4,14 +4,22 @@ import dsinczak.fp.validation.javadsl.ErrorCase;
 import dsinczak.fp.validation.javadsl.Message;
 import dsinczak.fp.validation.javadsl.ValidationResult;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static dsinczak.fp.validation.javadsl.cf.CfCommon.VALID;
 import static java.util.concurrent.CompletableFuture.*;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 
 public abstract class Validators {
@@ -41,6 +49,19 @@ public abstract class Validators {
         return new FailFastMergedValidator<>(validators);
     }
 
+    /**
+     * Merge validators collapsing equal messages into single {@link Message.AggregatedMessage} with occurrence count
+     * and up to <code>sampleSize</code> indices of validators that reported it.
+     */
+    @SafeVarargs
+    public static <S> Validator<S> mergeAggregated(int sampleSize, Validator<S>... validators) {
+        return new MergedValidator<>(List.of(validators), sampleSize);
+    }
+
+    public static <S> Validator<S> mergeAggregated(int sampleSize, List<Validator<S>> validators) {
+        return new MergedValidator<>(validators, sampleSize);
+    }
+
     ////////////////////////////
     //       ITERATION        //
     ////////////////////////////
@@ -53,32 +74,41 @@ public abstract class Validators {
         return new FailFastForEachValidator<>(validator);
     }
 
+    /**
+     * Validate all elements collapsing equal messages into single {@link Message.AggregatedMessage} with occurrence
+     * count and up to <code>sampleSize</code> indices of elements that failed with it. Useful for huge collections
+     * where most of the elements fail the same way.
+     */
+    public static <A> Validator<Iterable<A>> forEachAggregated(Validator<A> validator, int sampleSize) {
+        return new ForEachValidator<>(validator, sampleSize);
+    }
+
     ////////////////////////////
     //       EXTRACTION       //
     ////////////////////////////
 
     public static <A, B> Validator<A> extract(Function<A, B> extractor, Validator<B> validator) {
-        return a -> validator.apply(extractor.apply(a));
+        return new ExtractingValidator<>(extractor, validator);
     }
 
     public static <A, B> Validator<A> ifExists(Function<A, B> extractor, Validator<B> validator) {
-        return a -> Optional.ofNullable(extractor.apply(a))
-                .map(validator)
-                .orElseGet(Validator::valid);
+        return new IfExistsValidator<>(extractor, validator, ValidationResult.success());
     }
 
     public static <A, B> Validator<A> ifExistsOrElse(Function<A, B> extractor, Validator<B> validator, Message orElseMessage) {
-        return a -> Optional.ofNullable(extractor.apply(a))
-                .map(validator)
-                .orElseGet(() -> Validator.invalid(orElseMessage));
+        return new IfExistsValidator<>(extractor, validator, ValidationResult.failed(orElseMessage));
     }
 
     public static <A, B> Validator<A> forEach(Function<A, Iterable<B>> extractor, Validator<B> validator) {
-        return a -> forEach(validator).apply(extractor.apply(a));
+        return extract(extractor, forEach(validator));
+    }
+
+    public static <A, B> Validator<A> forEachAggregated(Function<A, Iterable<B>> extractor, Validator<B> validator, int sampleSize) {
+        return extract(extractor, forEachAggregated(validator, sampleSize));
     }
 
     public static <A, B> Validator<A> forEachFailFast(Function<A, Iterable<B>> extractor, Validator<B> validator) {
-        return a -> forEachFailFast(validator).apply(extractor.apply(a));
+        return extract(extractor, forEachFailFast(validator));
     }
 
     ////////////////////////////
@@ -86,13 +116,11 @@ public abstract class Validators {
     ////////////////////////////
 
     public static <A> Validator<A> exceptionally(Validator<A> validator, Function<Throwable, Message> messageProvider) {
-        return a -> validator.apply(a)
-                .exceptionally(throwable -> ValidationResult.failed(messageProvider.apply(throwable)));
+        return new ExceptionallyValidator<>(validator, throwable -> ValidationResult.failed(messageProvider.apply(throwable)));
     }
 
     public static <A> Validator<A> exceptionally(Validator<A> validator, List<ErrorCase> cases) {
-        return a -> validator.apply(a)
-                .exceptionally(throwable -> ErrorCase.findOrRethrow(cases, throwable));
+        return new ExceptionallyValidator<>(validator, throwable -> ErrorCase.findOrRethrow(cases, throwable));
     }
 
     public static <A> Validator<A> exceptionally(Validator<A> validator, ErrorCase... cases) {
@@ -104,16 +132,149 @@ public abstract class Validators {
     /////////////////////////////////////
 
     public static <A> Validator<A> lift(dsinczak.fp.validation.javadsl.ne.Validator<A> noEffectValidator) {
-        return a-> {
-            try {
-                return completedFuture(noEffectValidator.validate(a));
-            } catch (Throwable throwable) {
-                return failedFuture(throwable);
-            }
-        };
+        return new LiftedValidator<>(noEffectValidator, null);
     }
 
     public static <A> Validator<A> lift(dsinczak.fp.validation.javadsl.ne.Validator<A> noEffectValidator, Executor executor) {
-        return a -> supplyAsync(() -> noEffectValidator.validate(a), executor);
+        return new LiftedValidator<>(noEffectValidator, Objects.requireNonNull(executor, "Executor cannot be null"));
+    }
+
+    ////////////////////////////
+    //   EXECUTION POLICIES   //
+    ////////////////////////////
+
+    /**
+     * Apply execution policy (e.g. {@link ExecutionPolicy#executeOn(Executor)}, {@link Bulkhead}) to validator and
+     * all its children.
+     */
+    public static <A> Validator<A> withPolicy(Validator<A> validator, ExecutionPolicy policy) {
+        return policy.applyTo(validator);
+    }
+
+    ////////////////////////////
+    //  TIMEOUTS & BREAKERS   //
+    ////////////////////////////
+
+    /**
+     * When validator does not complete within timeout failed validation with <code>timeoutMessage</code> is returned.
+     * When remaining budget of current {@link Deadline} is shorter than timeout, timing out is left to the deadline
+     * (so whole tree fails with deadline's message), when deadline has already expired validator is not called at all.
+     */
+    public static <A> Validator<A> withTimeout(Validator<A> validator, Duration timeout, Message timeoutMessage) {
+        var timeoutNanos = timeout.toNanos();
+        var timedOut = ValidationResult.failed(timeoutMessage);
+        return new DecoratedValidator<>(validator, "timeout(" + timeout + ")", decorated -> a -> {
+            var deadline = Deadline.currentOrNull();
+            if (deadline != null && deadline.remainingNanos() <= timeoutNanos) {
+                return withinDeadline(decorated, a, deadline);
+            }
+            var result = decorated.validate(a);
+            // Copy so the timeout does not complete future that might be shared with other validations
+            return result.isDone() ? result : result.copy().completeOnTimeout(timedOut, timeoutNanos, NANOSECONDS);
+        });
+    }
+
+    /**
+     * Same as {@link #withTimeout(Validator, Duration, Message)} but validation that timed out completes
+     * exceptionally with {@link TimeoutException} (so it is e.g. recorded as failure by {@link CircuitBreaker}).
+     */
+    public static <A> Validator<A> withTimeout(Validator<A> validator, Duration timeout) {
+        var timeoutNanos = timeout.toNanos();
+        return new DecoratedValidator<>(validator, "timeout(" + timeout + ")", decorated -> a -> {
+            var deadline = Deadline.currentOrNull();
+            if (deadline != null && deadline.remainingNanos() <= timeoutNanos) {
+                return withinDeadline(decorated, a, deadline);
+            }
+            var result = decorated.validate(a);
+            return result.isDone() ? result : result.copy().orTimeout(timeoutNanos, NANOSECONDS);
+        });
+    }
+
+    /**
+     * Set deadline for the whole validator tree. All validators of the tree see remaining budget through
+     * {@link Deadline#current()} and whole tree is timed out with <code>timeoutMessage</code> when budget is exceeded.
+     * Nested deadlines can only shorten the budget (and then tree is timed out with message of the enclosing one).
+     */
+    public static <A> Validator<A> withDeadline(Validator<A> validator, Duration budget, Message timeoutMessage) {
+        var timedOut = ValidationResult.failed(timeoutMessage);
+        return new DecoratedValidator<>(validator, "deadline(" + budget + ")", decorated -> a -> {
+            var deadline = Deadline.after(budget, timedOut).earliest(Deadline.currentOrNull());
+            if (deadline.isExpired()) {
+                return completedFuture(deadline.timedOut());
+            }
+            var result = Deadline.within(deadline, () -> decorated.validate(a));
+            return result.isDone() ? result : result.copy().completeOnTimeout(deadline.timedOut(), deadline.remainingNanos(), NANOSECONDS);
+        });
+    }
+
+    /**
+     * Protect validator with circuit breaker. While breaker is open validator is not called and <code>whenOpen</code>
+     * result is returned instead.
+     */
+    public static <A> Validator<A> withCircuitBreaker(Validator<A> validator, CircuitBreaker circuitBreaker, ValidationResult whenOpen) {
+        return circuitBreaker.protect(validator, whenOpen);
+    }
+
+    // Deadline is the binding limit, its timer (armed by withDeadline) times out the tree
+    private static <A> CompletableFuture<ValidationResult> withinDeadline(Validator<A> validator, A a, Deadline deadline) {
+        return deadline.isExpired() ? completedFuture(deadline.timedOut()) : validator.validate(a);
+    }
+
+    ////////////////////////////
+    //  SHADOWING & SAMPLING  //
+    ////////////////////////////
+
+    /**
+     * Run validator in shadow on common fork-join pool with at most 256 shadow validations in flight.
+     *
+     * @see ShadowValidator
+     */
+    public static <A> ShadowValidator<A> shadow(Validator<A> validator, BiConsumer<A, ValidationResult> sink) {
+        return shadow(validator, ForkJoinPool.commonPool(), ShadowValidator.DEFAULT_MAX_IN_FLIGHT, sink);
+    }
+
+    /**
+     * @see ShadowValidator
+     */
+    public static <A> ShadowValidator<A> shadow(Validator<A> validator, Executor executor, int maxInFlight, BiConsumer<A, ValidationResult> sink) {
+        return new ShadowValidator<>(validator, executor, maxInFlight, sink);
+    }
+
+    /**
+     * Run validator only for randomly chosen <code>rate</code> fraction of validated values (e.g. <code>0.01</code>
+     * for 1%), validation of the rest succeeds without calling validator. Sampled validator is run by calling thread,
+     * so to also keep its latency away from validated flow it can be shadowed:
+     * <code>shadow(sampled(fraudCheck, 0.01), sink)</code>.
+     */
+    public static <A> Validator<A> sampled(Validator<A> validator, double rate) {
+        if (!(rate >= 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException("Sampling rate must be within [0, 1]");
+        }
+        return new DecoratedValidator<>(validator, "sampled(rate=" + rate + ")",
+                decorated -> a -> ThreadLocalRandom.current().nextDouble() < rate ? decorated.validate(a) : VALID);
+    }
+
+    ////////////////////////////
+    //      COMPILATION       //
+    ////////////////////////////
+
+    /**
+     * Build cheaper equivalent of composed validator tree: nested merges are flattened into single merge, neutral
+     * validators are dropped and nested extractions are fused into single extraction, so there are less levels of
+     * <code>validate</code> calls. Asynchronous nodes stay interpreted, lifted no effect validators are compiled with
+     * {@link dsinczak.fp.validation.javadsl.ne.Validators#compile(dsinczak.fp.validation.javadsl.ne.Validator)}
+     * (so their call sites are specialized). Validators that cannot be compiled are left as they are. Compilation
+     * should be done once (e.g. at startup) and compiled validator reused.
+     */
+    public static <A> Validator<A> compile(Validator<A> validator) {
+        return ValidatorCompiler.compile(validator);
+    }
+
+    /**
+     * @return validator graph rendered as indented tree (one node per line), e.g. to check what compilation did
+     * @see ValidatorVisitor
+     */
+    public static String describe(Validator<?> validator) {
+        return validator.accept(ValidatorPrinter.INSTANCE);
     }
 }
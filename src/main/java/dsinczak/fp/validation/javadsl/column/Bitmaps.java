@@ -0,0 +1,75 @@
+package dsinczak.fp.validation.javadsl.column;
+
+import java.util.BitSet;
+
+/**
+ * Tight, branch-free loops producing failure bitmaps. Each 64 rows are folded into single <code>long</code> word so
+ * the inner loop has no data dependent branches and stays friendly for JIT auto-vectorization.
+ */
+abstract class Bitmaps {
+
+    private Bitmaps() {
+    }
+
+    static BitSet outside(int[] column, int min, int max) {
+        var words = new long[words(column.length)];
+        for (int w = 0, base = 0; base < column.length; w++, base += Long.SIZE) {
+            var end = Math.min(base + Long.SIZE, column.length);
+            var bits = 0L;
+            for (int i = base; i < end; i++) {
+                var v = column[i];
+                bits |= (v < min | v > max ? 1L : 0L) << (i - base);
+            }
+            words[w] = bits;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    static BitSet outside(long[] column, long min, long max) {
+        var words = new long[words(column.length)];
+        for (int w = 0, base = 0; base < column.length; w++, base += Long.SIZE) {
+            var end = Math.min(base + Long.SIZE, column.length);
+            var bits = 0L;
+            for (int i = base; i < end; i++) {
+                var v = column[i];
+                bits |= (v < min | v > max ? 1L : 0L) << (i - base);
+            }
+            words[w] = bits;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * NaN is never within range so it is always reported as failure.
+     */
+    static BitSet outside(double[] column, double min, double max) {
+        var words = new long[words(column.length)];
+        for (int w = 0, base = 0; base < column.length; w++, base += Long.SIZE) {
+            var end = Math.min(base + Long.SIZE, column.length);
+            var bits = 0L;
+            for (int i = base; i < end; i++) {
+                var v = column[i];
+                bits |= (v >= min & v <= max ? 0L : 1L) << (i - base);
+            }
+            words[w] = bits;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    static BitSet nulls(Object[] column) {
+        var words = new long[words(column.length)];
+        for (int w = 0, base = 0; base < column.length; w++, base += Long.SIZE) {
+            var end = Math.min(base + Long.SIZE, column.length);
+            var bits = 0L;
+            for (int i = base; i < end; i++) {
+                bits |= (column[i] == null ? 1L : 0L) << (i - base);
+            }
+            words[w] = bits;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private static int words(int rows) {
+        return (rows + Long.SIZE - 1) / Long.SIZE;
+    }
+}
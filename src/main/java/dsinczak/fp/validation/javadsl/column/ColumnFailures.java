@@ -0,0 +1,111 @@
+package dsinczak.fp.validation.javadsl.column;
+
+import dsinczak.fp.validation.javadsl.Message;
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Outcome of columnar validation. Each applied rule is represented by failure bitmap (bit set for every failed row)
+ * and row message factory. Messages are created only for set bits and only when final {@link ValidationResult}
+ * is requested.
+ * Failures are monoid (just like {@link ValidationResult}) where:
+ * <ul>
+ *     <li>identity element: {@link ColumnFailures#none()}</li>
+ *     <li>binary operation: {@link ColumnFailures#concat(ColumnFailures)}</li>
+ * </ul>
+ */
+public final class ColumnFailures {
+
+    private static final ColumnFailures NONE = new ColumnFailures(List.of());
+
+    private final List<RuleFailures> rules;
+
+    private ColumnFailures(List<RuleFailures> rules) {
+        this.rules = rules;
+    }
+
+    public static ColumnFailures none() {
+        return NONE;
+    }
+
+    static ColumnFailures of(BitSet failedRows, IntFunction<Message> rowMessage) {
+        return failedRows.isEmpty()
+                ? NONE
+                : new ColumnFailures(List.of(new RuleFailures(failedRows, rowMessage)));
+    }
+
+    public boolean isSuccess() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * @return number of failures summed up over all rules (single row can fail many rules)
+     */
+    public int failureCount() {
+        var count = 0;
+        for (RuleFailures rule : rules) {
+            count += rule.failedRows.cardinality();
+        }
+        return count;
+    }
+
+    /**
+     * @return bitmap of rows that failed at least one rule
+     */
+    public BitSet failedRows() {
+        var failedRows = new BitSet();
+        for (RuleFailures rule : rules) {
+            failedRows.or(rule.failedRows);
+        }
+        return failedRows;
+    }
+
+    public ColumnFailures concat(ColumnFailures other) {
+        if (this.isSuccess()) {
+            return other;
+        } else if (other.isSuccess()) {
+            return this;
+        } else {
+            var merged = new ArrayList<RuleFailures>(this.rules.size() + other.rules.size());
+            merged.addAll(this.rules);
+            merged.addAll(other.rules);
+            return new ColumnFailures(merged);
+        }
+    }
+
+    /**
+     * Materialize messages for all failed rows. Messages are ordered by rule and then by row index.
+     */
+    public ValidationResult toValidationResult() {
+        if (isSuccess()) {
+            return ValidationResult.success();
+        }
+        var messages = new ArrayList<Message>(failureCount());
+        for (RuleFailures rule : rules) {
+            var failedRows = rule.failedRows;
+            for (int row = failedRows.nextSetBit(0); row >= 0; row = failedRows.nextSetBit(row + 1)) {
+                messages.add(rule.rowMessage.apply(row));
+            }
+        }
+        return ValidationResult.failed(messages);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnFailures{failedRows=" + failedRows() + "}";
+    }
+
+    private static final class RuleFailures {
+        private final BitSet failedRows;
+        private final IntFunction<Message> rowMessage;
+
+        private RuleFailures(BitSet failedRows, IntFunction<Message> rowMessage) {
+            this.failedRows = failedRows;
+            this.rowMessage = rowMessage;
+        }
+    }
+}
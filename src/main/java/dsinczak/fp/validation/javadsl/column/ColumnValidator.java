@@ -0,0 +1,20 @@
+package dsinczak.fp.validation.javadsl.column;
+
+/**
+ * Columnar counterpart of {@link dsinczak.fp.validation.javadsl.ne.Validator}. Instead of validating single object it
+ * validates whole column of values (e.g. <code>int[]</code>) at once and returns {@link ColumnFailures} which is just
+ * a bitmap of failed rows. Messages for failed rows are materialized only when {@link ColumnFailures#toValidationResult()}
+ * is called.
+ *
+ * @param <C> validated column type (e.g. <code>int[]</code>, <code>double[]</code>)
+ */
+@FunctionalInterface
+public interface ColumnValidator<C> {
+
+    ColumnFailures validate(C column);
+
+    default ColumnValidator<C> merge(ColumnValidator<C> another) {
+        return Columns.merge(this, another);
+    }
+
+}
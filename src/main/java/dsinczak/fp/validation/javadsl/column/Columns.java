@@ -0,0 +1,99 @@
+package dsinczak.fp.validation.javadsl.column;
+
+import dsinczak.fp.validation.javadsl.Message;
+import dsinczak.fp.validation.javadsl.Message.ParametrizedMessage;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Factory of columnar validators. Every rule scans whole primitive column in single pass and records failed rows in
+ * a bitmap, no object is allocated per row. Row messages are provided as <code>row index -&gt; message</code> functions
+ * and are called only for failed rows.
+ */
+public abstract class Columns {
+
+    private Columns() {
+    }
+
+    ////////////////////////////
+    //        MERGING         //
+    ////////////////////////////
+
+    @SafeVarargs
+    public static <C> ColumnValidator<C> merge(ColumnValidator<C>... validators) {
+        return merge(Arrays.asList(validators));
+    }
+
+    public static <C> ColumnValidator<C> merge(List<ColumnValidator<C>> validators) {
+        return column -> {
+            var failures = ColumnFailures.none();
+            for (ColumnValidator<C> validator : validators) {
+                failures = failures.concat(validator.validate(column));
+            }
+            return failures;
+        };
+    }
+
+    ////////////////////////////
+    //         RANGES         //
+    ////////////////////////////
+
+    public static ColumnValidator<int[]> intRange(int min, int max, IntFunction<Message> rowMessage) {
+        return column -> ColumnFailures.of(Bitmaps.outside(column, min, max), rowMessage);
+    }
+
+    public static ColumnValidator<int[]> intAtLeast(int min, IntFunction<Message> rowMessage) {
+        return intRange(min, Integer.MAX_VALUE, rowMessage);
+    }
+
+    public static ColumnValidator<int[]> intAtMost(int max, IntFunction<Message> rowMessage) {
+        return intRange(Integer.MIN_VALUE, max, rowMessage);
+    }
+
+    public static ColumnValidator<long[]> longRange(long min, long max, IntFunction<Message> rowMessage) {
+        return column -> ColumnFailures.of(Bitmaps.outside(column, min, max), rowMessage);
+    }
+
+    public static ColumnValidator<long[]> longAtLeast(long min, IntFunction<Message> rowMessage) {
+        return longRange(min, Long.MAX_VALUE, rowMessage);
+    }
+
+    public static ColumnValidator<long[]> longAtMost(long max, IntFunction<Message> rowMessage) {
+        return longRange(Long.MIN_VALUE, max, rowMessage);
+    }
+
+    public static ColumnValidator<double[]> doubleRange(double min, double max, IntFunction<Message> rowMessage) {
+        return column -> ColumnFailures.of(Bitmaps.outside(column, min, max), rowMessage);
+    }
+
+    public static ColumnValidator<double[]> doubleAtLeast(double min, IntFunction<Message> rowMessage) {
+        return doubleRange(min, Double.POSITIVE_INFINITY, rowMessage);
+    }
+
+    public static ColumnValidator<double[]> doubleAtMost(double max, IntFunction<Message> rowMessage) {
+        return doubleRange(Double.NEGATIVE_INFINITY, max, rowMessage);
+    }
+
+    ////////////////////////////
+    //         NULLS          //
+    ////////////////////////////
+
+    public static <E> ColumnValidator<E[]> notNull(IntFunction<Message> rowMessage) {
+        return column -> ColumnFailures.of(Bitmaps.nulls(column), rowMessage);
+    }
+
+    ////////////////////////////
+    //        MESSAGES        //
+    ////////////////////////////
+
+    /**
+     * @return row message factory creating {@link ParametrizedMessage} with row index passed as <code>rowParm</code>
+     */
+    public static IntFunction<Message> rowMessage(ParametrizedMessage.Code code, ParametrizedMessage.Parm rowParm) {
+        return row -> Message.of(code, Map.of(rowParm, row));
+    }
+
+}
@@ -0,0 +1,92 @@
+package dsinczak.fp.validation.javadsl.file;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * View of single line of memory mapped file (without line terminator). To keep heap usage flat one instance is reused
+ * for all lines of a chunk, so line must not be retained by decoder - it is valid only during decoder call.
+ * Bytes are copied (and decoded as UTF-8) only when {@link #asString()} or {@link #fields(char)} is called.
+ */
+public final class Line {
+
+    private final ByteBuffer chunk;
+    private final long chunkOffset;
+
+    private int start;
+    private int end;
+    private long lineNumber;
+
+    Line(ByteBuffer chunk, long chunkOffset) {
+        this.chunk = chunk;
+        this.chunkOffset = chunkOffset;
+    }
+
+    void moveTo(int start, int end, long lineNumber) {
+        this.start = start;
+        this.end = end;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * @return offset (in bytes) of the first line byte counting from the beginning of file
+     */
+    public long byteOffset() {
+        return chunkOffset + start;
+    }
+
+    /**
+     * @return line number, first line of file has number 1
+     */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    public int length() {
+        return end - start;
+    }
+
+    public byte byteAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of line of length " + length());
+        }
+        return chunk.get(start + index);
+    }
+
+    public String asString() {
+        return new String(bytes(), UTF_8);
+    }
+
+    /**
+     * Split line by (ASCII) delimiter. Quoting is not supported, for CSV with quoted fields decode {@link #asString()}
+     * with proper parser.
+     */
+    public String[] fields(char delimiter) {
+        var bytes = bytes();
+        var fields = new ArrayList<String>();
+        var fieldStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == delimiter) {
+                fields.add(new String(bytes, fieldStart, i - fieldStart, UTF_8));
+                fieldStart = i + 1;
+            }
+        }
+        fields.add(new String(bytes, fieldStart, bytes.length - fieldStart, UTF_8));
+        return fields.toArray(new String[0]);
+    }
+
+    private byte[] bytes() {
+        var bytes = new byte[length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = chunk.get(start + i);
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "Line{" + lineNumber + "@" + byteOffset() + ": " + asString() + "}";
+    }
+}
@@ -0,0 +1,53 @@
+package dsinczak.fp.validation.javadsl.file;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.Objects;
+
+/**
+ * Failed validation of single file record along with its location in the file.
+ */
+public final class LineFailure {
+
+    private final long byteOffset;
+    private final long lineNumber;
+    private final ValidationResult result;
+
+    LineFailure(long byteOffset, long lineNumber, ValidationResult result) {
+        this.byteOffset = byteOffset;
+        this.lineNumber = lineNumber;
+        this.result = result;
+    }
+
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public ValidationResult getResult() {
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LineFailure)) return false;
+        LineFailure that = (LineFailure) o;
+        return byteOffset == that.byteOffset
+                && lineNumber == that.lineNumber
+                && result.equals(that.result);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(byteOffset, lineNumber, result);
+    }
+
+    @Override
+    public String toString() {
+        return "LineFailure{line=" + lineNumber + ", byteOffset=" + byteOffset + ", result=" + result + "}";
+    }
+}
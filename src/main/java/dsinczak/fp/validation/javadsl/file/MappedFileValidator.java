@@ -0,0 +1,268 @@
+package dsinczak.fp.validation.javadsl.file;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+import dsinczak.fp.validation.javadsl.cf.Validator;
+import dsinczak.fp.validation.javadsl.cf.Validators;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Validation of line oriented files (CSV, NDJSON, ...) of any size. File is memory mapped and split into line aligned
+ * chunks which are validated in parallel. Every line is decoded into record (decoder gets reusable {@link Line} view
+ * of mapped bytes) and validated with given validator. Failures are emitted to sink along with line number and byte
+ * offset as soon as they are found, nothing is accumulated, so heap usage does not depend on file size.
+ * Empty lines are skipped (but counted in line numbers).
+ * Validation is done in two parallel passes: first counts lines of every chunk (so line numbers are known up front),
+ * second decodes and validates records.
+ *
+ * @param <R> type of record decoded from single line
+ */
+public final class MappedFileValidator<R> {
+
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024 * 1024;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 256;
+
+    private final Function<Line, R> decoder;
+    private final Validator<R> validator;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final boolean skipHeader;
+    private final Executor executor;
+
+    private MappedFileValidator(Function<Line, R> decoder, Validator<R> validator, int chunkSize, int maxInFlight, boolean skipHeader, Executor executor) {
+        this.decoder = decoder;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+        this.skipHeader = skipHeader;
+        this.executor = executor;
+    }
+
+    public static <R> MappedFileValidator<R> of(Function<Line, R> decoder, dsinczak.fp.validation.javadsl.ne.Validator<R> validator) {
+        return ofAsync(decoder, Validators.lift(validator));
+    }
+
+    /**
+     * Records are validated with asynchronous validator, each chunk keeps at most <code>maxInFlight</code> (256 by
+     * default) validations running at the same time.
+     */
+    public static <R> MappedFileValidator<R> ofAsync(Function<Line, R> decoder, Validator<R> validator) {
+        return new MappedFileValidator<>(decoder, validator, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_IN_FLIGHT, false, ForkJoinPool.commonPool());
+    }
+
+    public MappedFileValidator<R> withChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        return new MappedFileValidator<>(decoder, validator, chunkSize, maxInFlight, skipHeader, executor);
+    }
+
+    public MappedFileValidator<R> withMaxInFlight(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("At least one validation must be allowed in flight");
+        }
+        return new MappedFileValidator<>(decoder, validator, chunkSize, maxInFlight, skipHeader, executor);
+    }
+
+    public MappedFileValidator<R> withExecutor(Executor executor) {
+        return new MappedFileValidator<>(decoder, validator, chunkSize, maxInFlight, skipHeader, executor);
+    }
+
+    /**
+     * First line of file (e.g. CSV header) will not be validated.
+     */
+    public MappedFileValidator<R> skipHeader() {
+        return new MappedFileValidator<>(decoder, validator, chunkSize, maxInFlight, true, executor);
+    }
+
+    /**
+     * Validate all lines of the file.
+     *
+     * @param sink receiver of failures, called concurrently from many threads (and not in line order)
+     * @return number of failed lines
+     */
+    public long validate(Path file, Consumer<LineFailure> sink) throws IOException {
+        try (var channel = FileChannel.open(file, READ)) {
+            var chunks = split(channel);
+            var lineCounts = inParallel(chunks, chunk -> countLines(chunk.map(channel)));
+
+            var failures = new LongAdder();
+            var firstLineNumber = 1L;
+            var validations = new ArrayList<CompletableFuture<Void>>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                var chunk = chunks.get(i);
+                var chunkFirstLine = firstLineNumber;
+                validations.add(CompletableFuture.runAsync(
+                        () -> validateChunk(chunk.map(channel), chunk.start, chunkFirstLine, sink, failures), executor));
+                firstLineNumber += lineCounts.get(i);
+            }
+            join(validations);
+            return failures.sum();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void validateChunk(MappedByteBuffer buffer, long chunkOffset, long firstLineNumber, Consumer<LineFailure> sink, LongAdder failures) {
+        var line = new Line(buffer, chunkOffset);
+        var inFlight = new ArrayDeque<PendingValidation>();
+        var lineNumber = firstLineNumber;
+        var lineStart = 0;
+        var limit = buffer.limit();
+        for (int i = 0; i <= limit; i++) {
+            if (i < limit && buffer.get(i) != '\n') {
+                continue;
+            }
+            if (i == limit && lineStart == limit) {
+                break;
+            }
+            var lineEnd = i > lineStart && buffer.get(i - 1) == '\r' ? i - 1 : i;
+            if (lineEnd > lineStart && !(skipHeader && lineNumber == 1)) {
+                line.moveTo(lineStart, lineEnd, lineNumber);
+                var validation = new PendingValidation(line.byteOffset(), lineNumber, validator.validate(decoder.apply(line)));
+                if (validation.result.isDone()) {
+                    report(validation, sink, failures);
+                } else {
+                    inFlight.add(validation);
+                    if (inFlight.size() >= maxInFlight) {
+                        report(inFlight.poll(), sink, failures);
+                    }
+                }
+            }
+            lineNumber++;
+            lineStart = i + 1;
+        }
+        while (!inFlight.isEmpty()) {
+            report(inFlight.poll(), sink, failures);
+        }
+    }
+
+    private static void report(PendingValidation validation, Consumer<LineFailure> sink, LongAdder failures) {
+        var result = validation.result.join();
+        if (!result.isSuccess()) {
+            failures.increment();
+            sink.accept(new LineFailure(validation.byteOffset, validation.lineNumber, result));
+        }
+    }
+
+    private static long countLines(ByteBuffer buffer) {
+        var limit = buffer.limit();
+        var lines = 0L;
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                lines++;
+            }
+        }
+        return limit > 0 && buffer.get(limit - 1) != '\n' ? lines + 1 : lines;
+    }
+
+    /**
+     * Split file into chunks of approximately <code>chunkSize</code> bytes, every chunk (but the last one) ends with
+     * line terminator.
+     */
+    private List<Chunk> split(FileChannel channel) throws IOException {
+        var size = channel.size();
+        var chunks = new ArrayList<Chunk>();
+        var probe = ByteBuffer.allocate(8 * 1024);
+        var start = 0L;
+        while (start < size) {
+            var end = Math.min(start + chunkSize, size);
+            end = end < size ? nextLineStart(channel, end - 1, probe) : end;
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Line starting in chunk at byte " + start + " is longer than " + Integer.MAX_VALUE + " bytes");
+            }
+            chunks.add(new Chunk(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, ByteBuffer probe) throws IOException {
+        var position = from;
+        while (true) {
+            probe.clear();
+            var read = channel.read(probe, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private List<Long> inParallel(List<Chunk> chunks, Function<Chunk, Long> task) {
+        var results = new ArrayList<CompletableFuture<Long>>(chunks.size());
+        for (Chunk chunk : chunks) {
+            results.add(CompletableFuture.supplyAsync(() -> task.apply(chunk), executor));
+        }
+        join(results);
+        var values = new ArrayList<Long>(results.size());
+        for (CompletableFuture<Long> result : results) {
+            values.add(result.join());
+        }
+        return values;
+    }
+
+    private static void join(List<? extends CompletableFuture<?>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Chunk {
+        private final long start;
+        private final long end;
+
+        private Chunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        private MappedByteBuffer map(FileChannel channel) {
+            try {
+                return channel.map(READ_ONLY, start, end - start);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class PendingValidation {
+        private final long byteOffset;
+        private final long lineNumber;
+        private final CompletableFuture<ValidationResult> result;
+
+        private PendingValidation(long byteOffset, long lineNumber, CompletableFuture<ValidationResult> result) {
+            this.byteOffset = byteOffset;
+            this.lineNumber = lineNumber;
+            this.result = result;
+        }
+    }
+}
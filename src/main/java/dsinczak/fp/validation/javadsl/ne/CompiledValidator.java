@@ -0,0 +1,64 @@
+package dsinczak.fp.validation.javadsl.ne;
+
+import dsinczak.fp.validation.javadsl.ResultAccumulator;
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+/**
+ * Base of validator classes generated by {@link ValidatorSpecializer}. Generated class implements only
+ * <code>validate</code>, graph of compiled validator is the graph of interpreted node it replaces (so it can be
+ * described and rewritten as before). Static methods are merge steps called from generated code.
+ */
+abstract class CompiledValidator<T> implements Validator<T> {
+
+    private final Validator<T> interpreted;
+
+    CompiledValidator(Validator<T> interpreted) {
+        this.interpreted = interpreted;
+    }
+
+    Validator<T> interpreted() {
+        return interpreted;
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return interpreted.accept(visitor);
+    }
+
+    /**
+     * Merge step of unrolled merge. State is result of the first validator (success or single failure) until second
+     * failure comes, then it is pooled accumulator.
+     */
+    static Object merge(Object state, ValidationResult result) {
+        if (result.isSuccess()) {
+            return state;
+        }
+        if (state instanceof ResultAccumulator) {
+            ((ResultAccumulator) state).add(result);
+            return state;
+        }
+        var first = (ValidationResult) state;
+        return first.isSuccess() ? result : MergedValidator.accumulate(null, first, result);
+    }
+
+    /**
+     * Called when child of unrolled merge throws.
+     */
+    static void release(Object state) {
+        if (state instanceof ResultAccumulator) {
+            ((ResultAccumulator) state).release();
+        }
+    }
+
+    static ValidationResult merged(Object state) {
+        if (!(state instanceof ResultAccumulator)) {
+            return (ValidationResult) state;
+        }
+        var accumulator = (ResultAccumulator) state;
+        try {
+            return accumulator.toValidationResult();
+        } finally {
+            accumulator.release();
+        }
+    }
+}
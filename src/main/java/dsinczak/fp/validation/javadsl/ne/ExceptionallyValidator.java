@@ -0,0 +1,30 @@
+package dsinczak.fp.validation.javadsl.ne;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.function.Function;
+
+class ExceptionallyValidator<T> implements Validator<T> {
+
+    private final Validator<T> validator;
+    private final Function<Throwable, ValidationResult> handler;
+
+    ExceptionallyValidator(Validator<T> validator, Function<Throwable, ValidationResult> handler) {
+        this.validator = validator;
+        this.handler = handler;
+    }
+
+    @Override
+    public ValidationResult validate(T t) {
+        try {
+            return validator.validate(t);
+        } catch (Throwable throwable) {
+            return handler.apply(throwable);
+        }
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitExceptionally(validator, handler);
+    }
+}
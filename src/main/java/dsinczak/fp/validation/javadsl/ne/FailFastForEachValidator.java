@@ -2,6 +2,9 @@ package dsinczak.fp.validation.javadsl.ne;
 
 import dsinczak.fp.validation.javadsl.ValidationResult;
 
+import java.util.List;
+import java.util.RandomAccess;
+
 public class FailFastForEachValidator<T> implements Validator<Iterable<T>> {
 
     private Validator<T> validator;
@@ -10,8 +13,22 @@ public class FailFastForEachValidator<T> implements Validator<Iterable<T>> {
         this.validator = validator;
     }
 
+    Validator<T> validator() {
+        return validator;
+    }
+
     @Override
     public ValidationResult validate(Iterable<T> iterable) {
+        if (iterable instanceof RandomAccess && iterable instanceof List) {
+            var list = (List<T>) iterable;
+            for (int i = 0; i < list.size(); i++) {
+                var validationResult = validator.validate(list.get(i));
+                if (!validationResult.isSuccess()) {
+                    return validationResult;
+                }
+            }
+            return ValidationResult.success();
+        }
         for (T t : iterable) {
             var validationResult = validator.validate(t);
             if (!validationResult.isSuccess()) {
@@ -21,4 +38,8 @@ public class FailFastForEachValidator<T> implements Validator<Iterable<T>> {
         return ValidationResult.success();
     }
 
-}
\ No newline at end of file
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitForEachFailFast(validator);
+    }
+}
@@ -2,26 +2,30 @@ package dsinczak.fp.validation.javadsl.ne;
 
 import dsinczak.fp.validation.javadsl.ValidationResult;
 
-import java.util.Arrays;
 import java.util.List;
 
 class FailFastMergedValidator<T> implements Validator<T> {
 
-    private List<Validator<T>> validators;
+    // Random access list, so it can be iterated without allocating iterator
+    private final List<Validator<T>> validators;
 
     @SafeVarargs
     FailFastMergedValidator(Validator<T>... validators) {
-        this.validators = Arrays.asList(validators);
+        this.validators = List.of(validators);
     }
 
     FailFastMergedValidator(List<Validator<T>> validators) {
-        this.validators = validators;
+        this.validators = List.copyOf(validators);
+    }
+
+    List<Validator<T>> validators() {
+        return validators;
     }
 
     @Override
     public ValidationResult validate(T t) {
-        for(Validator<T> validator : validators) {
-            var validationResult = validator.validate(t);
+        for (int i = 0; i < validators.size(); i++) {
+            var validationResult = validators.get(i).validate(t);
             if (!validationResult.isSuccess()) {
                 return validationResult;
             }
@@ -29,4 +33,8 @@ class FailFastMergedValidator<T> implements Validator<T> {
         return ValidationResult.success();
     }
 
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitMergeFailFast(validators);
+    }
 }
@@ -1,21 +1,100 @@
 package dsinczak.fp.validation.javadsl.ne;
 
+import dsinczak.fp.validation.javadsl.AggregatedFailures;
+import dsinczak.fp.validation.javadsl.ResultAccumulator;
 import dsinczak.fp.validation.javadsl.ValidationResult;
 
-import java.util.stream.StreamSupport;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static dsinczak.fp.validation.javadsl.ne.MergedValidator.FULL_DETAIL;
+import static dsinczak.fp.validation.javadsl.ne.MergedValidator.accumulate;
+import static dsinczak.fp.validation.javadsl.ne.MergedValidator.merged;
 
 public class ForEachValidator<T> implements Validator<Iterable<T>> {
 
     private Validator<T> validator;
+    private final int sampleSize;
 
     ForEachValidator(Validator<T> validator) {
+        this(validator, FULL_DETAIL);
+    }
+
+    ForEachValidator(Validator<T> validator, int sampleSize) {
+        if (sampleSize < FULL_DETAIL) {
+            throw new IllegalArgumentException("Sample size cannot be negative");
+        }
         this.validator = validator;
+        this.sampleSize = sampleSize;
+    }
+
+    Validator<T> validator() {
+        return validator;
+    }
+
+    int sampleSize() {
+        return sampleSize;
     }
 
     @Override
     public ValidationResult validate(Iterable<T> iterable) {
-        return StreamSupport.stream(iterable.spliterator(), false)
-                .map(t -> validator.apply(t))
-                .reduce(ValidationResult.success(), (vr1, vr2) -> vr1.concat(vr2));
+        if (sampleSize != FULL_DETAIL) {
+            return validateAggregated(iterable);
+        }
+        // Single failure is returned as is, messages of more failures are collected with pooled accumulator
+        ValidationResult failure = null;
+        ResultAccumulator accumulator = null;
+        try {
+            if (iterable instanceof RandomAccess && iterable instanceof List) {
+                var list = (List<T>) iterable;
+                for (int i = 0; i < list.size(); i++) {
+                    var result = validator.validate(list.get(i));
+                    if (!result.isSuccess()) {
+                        if (failure == null) {
+                            failure = result;
+                        } else {
+                            accumulator = accumulate(accumulator, failure, result);
+                        }
+                    }
+                }
+            } else {
+                for (T t : iterable) {
+                    var result = validator.validate(t);
+                    if (!result.isSuccess()) {
+                        if (failure == null) {
+                            failure = result;
+                        } else {
+                            accumulator = accumulate(accumulator, failure, result);
+                        }
+                    }
+                }
+            }
+            return merged(accumulator, failure);
+        } finally {
+            if (accumulator != null) {
+                accumulator.release();
+            }
+        }
+    }
+
+    private ValidationResult validateAggregated(Iterable<T> iterable) {
+        AggregatedFailures failures = null;
+        var index = 0;
+        for (T t : iterable) {
+            var result = validator.validate(t);
+            if (!result.isSuccess()) {
+                failures = failures != null ? failures : new AggregatedFailures(sampleSize);
+                failures.add(index, result);
+            }
+            index++;
+        }
+        return failures != null ? failures.toValidationResult() : ValidationResult.success();
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return sampleSize == FULL_DETAIL
+                ? visitor.visitForEach(validator)
+                : visitor.visitForEachAggregated(validator, sampleSize);
     }
 }
@@ -0,0 +1,41 @@
+package dsinczak.fp.validation.javadsl.ne;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.function.Function;
+
+class IfExistsValidator<A, B> implements Validator<A> {
+
+    private final Function<A, B> extractor;
+    private final Validator<B> validator;
+    private final ValidationResult orElse;
+
+    IfExistsValidator(Function<A, B> extractor, Validator<B> validator, ValidationResult orElse) {
+        this.extractor = extractor;
+        this.validator = validator;
+        this.orElse = orElse;
+    }
+
+    Function<A, B> extractor() {
+        return extractor;
+    }
+
+    Validator<B> validator() {
+        return validator;
+    }
+
+    ValidationResult orElse() {
+        return orElse;
+    }
+
+    @Override
+    public ValidationResult validate(A a) {
+        var value = extractor.apply(a);
+        return value != null ? validator.validate(value) : orElse;
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitIfExists(extractor, validator, orElse);
+    }
+}
@@ -0,0 +1,215 @@
+package dsinczak.fp.validation.javadsl.ne;
+
+import dsinczak.fp.validation.javadsl.Message;
+import dsinczak.fp.validation.javadsl.ResultAccumulator;
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Validator of aggregates that re-validates only parts that have changed since previous validation of the same
+ * aggregate instance. Aggregate is validated as merge of extracting validators (parts), for every aggregate (identified
+ * by key, e.g. aggregate id) last extracted values and results of all parts are remembered. On next validation part is
+ * skipped (and remembered result is used) when extracted value has not changed (is the same reference or is equal).
+ * Thus re-validation cost depends on the size of change instead of the size of aggregate.
+ * Remembered results are kept in bounded store split into stripes (by hash of key) locked independently, so
+ * aggregates with different keys are mostly validated concurrently. Least recently validated aggregates of a stripe
+ * are evicted first.
+ * <p>
+ * Extracted values have to be immutable (value objects), otherwise change made in place cannot be detected.
+ *
+ * @param <A> validated aggregate type
+ */
+public final class IncrementalValidator<A> implements Validator<A> {
+
+    private static final int MAX_STRIPES = 16;
+
+    private final Function<A, ?> key;
+    private final int capacity;
+    private final List<Part<A, ?>> parts;
+    // power of two number of stripes, capacity is split between them
+    private final List<Map<Object, Snapshot>> stripes;
+
+    private IncrementalValidator(Function<A, ?> key, int capacity, List<Part<A, ?>> parts) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Incremental validator must remember at least one aggregate");
+        }
+        this.key = key;
+        this.capacity = capacity;
+        this.parts = parts;
+        var stripeCount = Integer.highestOneBit(Math.min(MAX_STRIPES, capacity));
+        var stripes = new ArrayList<Map<Object, Snapshot>>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            var stripeCapacity = capacity / stripeCount + (i < capacity % stripeCount ? 1 : 0);
+            stripes.add(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Snapshot> eldest) {
+                    return size() > stripeCapacity;
+                }
+            });
+        }
+        this.stripes = List.copyOf(stripes);
+    }
+
+    static <A> IncrementalValidator<A> empty(Function<A, ?> key, int capacity) {
+        return new IncrementalValidator<>(key, capacity, List.of());
+    }
+
+    /**
+     * Rebuild incremental validator from (rewritten) part nodes. Extracting and <code>ifExists</code> nodes stay
+     * incremental, any other node is validated as a part extracting whole aggregate.
+     */
+    static <A> IncrementalValidator<A> of(Function<A, ?> key, int capacity, List<Validator<A>> nodes) {
+        var parts = new ArrayList<Part<A, ?>>(nodes.size());
+        for (Validator<A> node : nodes) {
+            parts.add(Part.of(node));
+        }
+        return new IncrementalValidator<>(key, capacity, List.copyOf(parts));
+    }
+
+    public <B> IncrementalValidator<A> extract(Function<A, B> extractor, Validator<B> validator) {
+        return with(new Part<>(extractor, validator, null));
+    }
+
+    public <B> IncrementalValidator<A> ifExists(Function<A, B> extractor, Validator<B> validator) {
+        return with(new Part<>(extractor, validator, ValidationResult.success()));
+    }
+
+    public <B> IncrementalValidator<A> ifExistsOrElse(Function<A, B> extractor, Validator<B> validator, Message orElseMessage) {
+        return with(new Part<>(extractor, validator, ValidationResult.failed(orElseMessage)));
+    }
+
+    /**
+     * Forget remembered results of aggregate, so it is fully validated next time.
+     */
+    public void invalidate(A aggregate) {
+        var aggregateKey = key.apply(aggregate);
+        var stripe = stripe(aggregateKey);
+        synchronized (stripe) {
+            stripe.remove(aggregateKey);
+        }
+    }
+
+    @Override
+    public ValidationResult validate(A aggregate) {
+        var aggregateKey = key.apply(aggregate);
+        var stripe = stripe(aggregateKey);
+        Snapshot previous;
+        synchronized (stripe) {
+            previous = stripe.get(aggregateKey);
+        }
+
+        var values = new Object[parts.size()];
+        var results = new ValidationResult[parts.size()];
+        // Single failure is returned as is, messages of more failures are collected with pooled accumulator
+        ValidationResult failure = null;
+        ResultAccumulator accumulator = null;
+        try {
+            for (int i = 0; i < parts.size(); i++) {
+                var part = parts.get(i);
+                values[i] = part.extract(aggregate);
+                results[i] = previous != null && unchanged(previous.values[i], values[i])
+                        ? previous.results[i]
+                        : part.validate(values[i]);
+                if (results[i].isSuccess()) {
+                    continue;
+                }
+                if (failure == null) {
+                    failure = results[i];
+                } else {
+                    accumulator = MergedValidator.accumulate(accumulator, failure, results[i]);
+                }
+            }
+            synchronized (stripe) {
+                stripe.put(aggregateKey, new Snapshot(values, results));
+            }
+            return MergedValidator.merged(accumulator, failure);
+        } finally {
+            if (accumulator != null) {
+                accumulator.release();
+            }
+        }
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        var nodes = new ArrayList<Validator<A>>(parts.size());
+        for (Part<A, ?> part : parts) {
+            nodes.add(part.node());
+        }
+        return visitor.visitIncremental(key, capacity, List.copyOf(nodes));
+    }
+
+    private Map<Object, Snapshot> stripe(Object aggregateKey) {
+        var hash = Objects.hashCode(aggregateKey);
+        return stripes.get((hash ^ (hash >>> 16)) & (stripes.size() - 1));
+    }
+
+    private IncrementalValidator<A> with(Part<A, ?> part) {
+        var extended = new ArrayList<Part<A, ?>>(parts.size() + 1);
+        extended.addAll(parts);
+        extended.add(part);
+        return new IncrementalValidator<>(key, capacity, List.copyOf(extended));
+    }
+
+    private static boolean unchanged(Object previous, Object current) {
+        return previous == current || (previous != null && previous.equals(current));
+    }
+
+    private static final class Part<A, B> {
+        private final Function<A, B> extractor;
+        private final Validator<B> validator;
+        // result of missing value of ifExists part, null for extracting part
+        private final ValidationResult orElse;
+
+        private Part(Function<A, B> extractor, Validator<B> validator, ValidationResult orElse) {
+            this.extractor = extractor;
+            this.validator = validator;
+            this.orElse = orElse;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <A> Part<A, ?> of(Validator<A> node) {
+            if (node instanceof CompiledValidator) {
+                return of(((CompiledValidator<A>) node).interpreted());
+            }
+            if (node instanceof ExtractingValidator) {
+                var extracting = (ExtractingValidator<A, Object>) node;
+                return new Part<>(extracting.extractor(), extracting.validator(), null);
+            }
+            if (node instanceof IfExistsValidator) {
+                var ifExists = (IfExistsValidator<A, Object>) node;
+                return new Part<>(ifExists.extractor(), ifExists.validator(), ifExists.orElse());
+            }
+            return new Part<>(Function.identity(), node, null);
+        }
+
+        private Validator<A> node() {
+            return orElse == null ? new ExtractingValidator<>(extractor, validator) : new IfExistsValidator<>(extractor, validator, orElse);
+        }
+
+        private Object extract(A aggregate) {
+            return extractor.apply(aggregate);
+        }
+
+        @SuppressWarnings("unchecked")
+        private ValidationResult validate(Object value) {
+            return value == null && orElse != null ? orElse : validator.validate((B) value);
+        }
+    }
+
+    private static final class Snapshot {
+        private final Object[] values;
+        private final ValidationResult[] results;
+
+        private Snapshot(Object[] values, ValidationResult[] results) {
+            this.values = values;
+            this.results = results;
+        }
+    }
+}
@@ -1,27 +1,111 @@
 package dsinczak.fp.validation.javadsl.ne;
 
+import dsinczak.fp.validation.javadsl.AggregatedFailures;
+import dsinczak.fp.validation.javadsl.ResultAccumulator;
+import dsinczak.fp.validation.javadsl.ValidationContext;
 import dsinczak.fp.validation.javadsl.ValidationResult;
 
-import java.util.Arrays;
 import java.util.List;
 
 class MergedValidator<T> implements Validator<T> {
 
-    private List<Validator<T>> validators;
+    /**
+     * Sample size marking that all messages are kept (no aggregation of equal messages).
+     */
+    static final int FULL_DETAIL = -1;
+
+    // Random access list, so it can be iterated without allocating iterator
+    private final List<Validator<T>> validators;
+    private final int sampleSize;
 
     MergedValidator(List<Validator<T>> validators) {
-        this.validators = validators;
+        this(validators, FULL_DETAIL);
     }
 
     @SafeVarargs
     MergedValidator(Validator<T>... validators) {
-        this.validators = Arrays.asList(validators);
+        this(List.of(validators), FULL_DETAIL);
+    }
+
+    MergedValidator(List<Validator<T>> validators, int sampleSize) {
+        if (sampleSize < FULL_DETAIL) {
+            throw new IllegalArgumentException("Sample size cannot be negative");
+        }
+        this.validators = List.copyOf(validators);
+        this.sampleSize = sampleSize;
+    }
+
+    List<Validator<T>> validators() {
+        return validators;
+    }
+
+    int sampleSize() {
+        return sampleSize;
     }
 
     @Override
     public ValidationResult validate(T t) {
-        return validators.stream()
-                .map(validator -> validator.apply(t))
-                .reduce(ValidationResult.success(), (vr1,vr2)->vr1.concat(vr2));
+        if (sampleSize != FULL_DETAIL) {
+            return validateAggregated(t);
+        }
+        // Single failure is returned as is, messages of more failures are collected with pooled accumulator
+        ValidationResult failure = null;
+        ResultAccumulator accumulator = null;
+        try {
+            for (int i = 0; i < validators.size(); i++) {
+                var result = validators.get(i).validate(t);
+                if (result.isSuccess()) {
+                    continue;
+                }
+                if (failure == null) {
+                    failure = result;
+                } else {
+                    accumulator = accumulate(accumulator, failure, result);
+                }
+            }
+            return merged(accumulator, failure);
+        } finally {
+            if (accumulator != null) {
+                accumulator.release();
+            }
+        }
+    }
+
+    /**
+     * Add next failure to accumulator, acquiring accumulator (with the first failure) when there is none yet.
+     */
+    static ResultAccumulator accumulate(ResultAccumulator accumulator, ValidationResult firstFailure, ValidationResult failure) {
+        if (accumulator == null) {
+            accumulator = ValidationContext.current().acquire();
+            accumulator.add(firstFailure);
+        }
+        accumulator.add(failure);
+        return accumulator;
+    }
+
+    static ValidationResult merged(ResultAccumulator accumulator, ValidationResult firstFailure) {
+        if (accumulator != null) {
+            return accumulator.toValidationResult();
+        }
+        return firstFailure != null ? firstFailure : ValidationResult.success();
+    }
+
+    private ValidationResult validateAggregated(T t) {
+        AggregatedFailures failures = null;
+        for (int i = 0; i < validators.size(); i++) {
+            var result = validators.get(i).validate(t);
+            if (!result.isSuccess()) {
+                failures = failures != null ? failures : new AggregatedFailures(sampleSize);
+                failures.add(i, result);
+            }
+        }
+        return failures != null ? failures.toValidationResult() : ValidationResult.success();
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return sampleSize == FULL_DETAIL
+                ? visitor.visitMerge(validators)
+                : visitor.visitMergeAggregated(validators, sampleSize);
     }
 }
@@ -0,0 +1,25 @@
+package dsinczak.fp.validation.javadsl.ne;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+/**
+ * Identity element of validators monoid. Kept as singleton so it can be recognized (and dropped) while compiling
+ * validator trees.
+ */
+final class NeutralValidator implements Validator<Object> {
+
+    static final NeutralValidator INSTANCE = new NeutralValidator();
+
+    private NeutralValidator() {
+    }
+
+    @Override
+    public ValidationResult validate(Object o) {
+        return ValidationResult.success();
+    }
+
+    @Override
+    public <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitNeutral();
+    }
+}
@@ -45,8 +45,17 @@ public interface Validator<T> extends Function<T, ValidationResult> {
         return Validators.exceptionally(this, cases);
     }
 
+    /**
+     * Dispatch to visitor method matching this node of validator graph. Validators not built with {@link Validators}
+     * are leaves of the graph.
+     */
+    default <R> R accept(ValidatorVisitor<R> visitor) {
+        return visitor.visitLeaf(this);
+    }
+
+    @SuppressWarnings("unchecked")
     public static <A> Validator<A> neutral() {
-        return a -> ValidationResult.success();
+        return (Validator<A>) NeutralValidator.INSTANCE;
     }
 
 }
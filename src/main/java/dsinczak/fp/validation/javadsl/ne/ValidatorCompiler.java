@@ -0,0 +1,105 @@
+package dsinczak.fp.validation.javadsl.ne;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Rewrites composed validator tree into cheaper, equivalent one:
+ * <ul>
+ *     <li>nested merges of the same kind are flattened into single merge (merge is associative)</li>
+ *     <li>{@link Validator#neutral()} children are dropped (it is identity element)</li>
+ *     <li>merges of zero or one validator are replaced with neutral validator or the only child</li>
+ *     <li>aggregated merges keep their shape (messages refer to indices of children), only children are compiled</li>
+ *     <li>extraction of extraction is fused into single extraction with composed extractor (the same for
+ *     <code>ifExists</code> nested in extraction)</li>
+ * </ul>
+ * Rewritten tree is then specialized with {@link ValidatorSpecializer} (merges and extractions are replaced with
+ * generated classes calling their children directly). Anything that is not recognized (e.g. user defined lambdas) is
+ * left as is and interpreted as before.
+ */
+final class ValidatorCompiler extends ValidatorRewriter {
+
+    private static final ValidatorCompiler INSTANCE = new ValidatorCompiler();
+
+    private ValidatorCompiler() {
+    }
+
+    static <T> Validator<T> compile(Validator<T> validator) {
+        return ValidatorSpecializer.specialize(INSTANCE.rewrite(validator));
+    }
+
+    @Override
+    public <T> Validator<?> visitMerge(List<Validator<T>> validators) {
+        var children = flatten(validators, MergedValidator.class);
+        return children.size() > 1 ? new MergedValidator<>(children) : onlyChild(children);
+    }
+
+    @Override
+    public <T> Validator<?> visitMergeFailFast(List<Validator<T>> validators) {
+        var children = flatten(validators, FailFastMergedValidator.class);
+        return children.size() > 1 ? new FailFastMergedValidator<>(children) : onlyChild(children);
+    }
+
+    @Override
+    public <A, B> Validator<?> visitExtract(Function<A, B> extractor, Validator<B> validator) {
+        var compiled = rewrite(validator);
+        if (compiled instanceof ExtractingValidator || compiled instanceof IfExistsValidator) {
+            return compiled.accept(new Fusing<>(extractor));
+        }
+        return new ExtractingValidator<>(extractor, compiled);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<Validator<T>> flatten(List<Validator<T>> validators, Class<?> mergeType) {
+        var flattened = new ArrayList<Validator<T>>(validators.size());
+        for (Validator<T> validator : validators) {
+            var compiled = rewrite(validator);
+            if (compiled == NeutralValidator.INSTANCE) {
+                continue;
+            }
+            if (mergeType.isInstance(compiled) && !isAggregated(compiled)) {
+                flattened.addAll(mergeType == MergedValidator.class
+                        ? ((MergedValidator<T>) compiled).validators()
+                        : ((FailFastMergedValidator<T>) compiled).validators());
+            } else {
+                flattened.add(compiled);
+            }
+        }
+        return List.copyOf(flattened);
+    }
+
+    private static boolean isAggregated(Validator<?> validator) {
+        return validator instanceof MergedValidator && ((MergedValidator<?>) validator).sampleSize() != MergedValidator.FULL_DETAIL;
+    }
+
+    private static <T> Validator<T> onlyChild(List<Validator<T>> validators) {
+        return validators.isEmpty() ? Validator.neutral() : validators.get(0);
+    }
+
+    /**
+     * Prepends outer extractor to already compiled (inner) extraction node.
+     */
+    private static final class Fusing<X, A> extends ValidatorRewriter {
+
+        private final Function<X, A> outer;
+
+        private Fusing(Function<X, A> outer) {
+            this.outer = outer;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <Y, B> Validator<?> visitExtract(Function<Y, B> extractor, Validator<B> validator) {
+            return new ExtractingValidator<>(outer.andThen((Function<A, B>) extractor), validator);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <Y, B> Validator<?> visitIfExists(Function<Y, B> extractor, Validator<B> validator, ValidationResult orElse) {
+            return new IfExistsValidator<>(outer.andThen((Function<A, B>) extractor), validator, orElse);
+        }
+    }
+}
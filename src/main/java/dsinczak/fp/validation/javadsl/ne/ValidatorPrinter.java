@@ -0,0 +1,92 @@
+package dsinczak.fp.validation.javadsl.ne;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Renders validator graph as indented tree, one node per line.
+ */
+final class ValidatorPrinter implements ValidatorVisitor<String> {
+
+    static final ValidatorPrinter INSTANCE = new ValidatorPrinter();
+
+    private ValidatorPrinter() {
+    }
+
+    @Override
+    public String visitNeutral() {
+        return "neutral";
+    }
+
+    @Override
+    public <T> String visitMerge(List<Validator<T>> validators) {
+        return node("merge", validators);
+    }
+
+    @Override
+    public <T> String visitMergeFailFast(List<Validator<T>> validators) {
+        return node("mergeFailFast", validators);
+    }
+
+    @Override
+    public <T> String visitMergeAggregated(List<Validator<T>> validators, int sampleSize) {
+        return node("mergeAggregated(sampleSize=" + sampleSize + ")", validators);
+    }
+
+    @Override
+    public <T> String visitForEach(Validator<T> validator) {
+        return node("forEach", List.of(validator));
+    }
+
+    @Override
+    public <T> String visitForEachFailFast(Validator<T> validator) {
+        return node("forEachFailFast", List.of(validator));
+    }
+
+    @Override
+    public <T> String visitForEachAggregated(Validator<T> validator, int sampleSize) {
+        return node("forEachAggregated(sampleSize=" + sampleSize + ")", List.of(validator));
+    }
+
+    @Override
+    public <A, B> String visitExtract(Function<A, B> extractor, Validator<B> validator) {
+        return node("extract", List.of(validator));
+    }
+
+    @Override
+    public <A, B> String visitIfExists(Function<A, B> extractor, Validator<B> validator, ValidationResult orElse) {
+        return node(orElse.isSuccess() ? "ifExists" : "ifExistsOrElse" + ((ValidationResult.FailedValidation) orElse).getMessages(), List.of(validator));
+    }
+
+    @Override
+    public <T> String visitExceptionally(Validator<T> validator, Function<Throwable, ValidationResult> handler) {
+        return node("exceptionally", List.of(validator));
+    }
+
+    @Override
+    public <A> String visitIncremental(Function<A, ?> key, int capacity, List<Validator<A>> parts) {
+        return node("incremental(capacity=" + capacity + ")", parts);
+    }
+
+    @Override
+    public <T> String visitDecorated(Validator<T> validator, String name, UnaryOperator<Validator<T>> decoration) {
+        return node(name, List.of(validator));
+    }
+
+    @Override
+    public <T> String visitLeaf(Validator<T> validator) {
+        // Lambdas have no meaningful names
+        return validator.getClass().isSynthetic() ? "leaf" : "leaf(" + validator.getClass().getSimpleName() + ")";
+    }
+
+    private String node(String label, List<? extends Validator<?>> children) {
+        var tree = new StringBuilder(label);
+        for (Validator<?> child : children) {
+            tree.append("\n  ").append(child.accept(this).replace("\n", "\n  "));
+        }
+        return tree.toString();
+    }
+}
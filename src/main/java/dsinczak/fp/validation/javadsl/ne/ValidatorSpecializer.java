@@ -0,0 +1,517 @@
+package dsinczak.fp.validation.javadsl.ne;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Replaces merge, fail fast merge and extraction nodes of (already compiled) validator tree with classes generated
+ * for given node. Children of generated class are kept in its static final fields and called one after another
+ * (merge is unrolled), so every call site sees single constant receiver and JIT can inline the child, instead of
+ * dispatching through <code>validate</code> call site shared by all merges (which goes megamorphic).
+ * Classes are defined with {@link MethodHandles.Lookup#defineClass(byte[])} in this package and are never unloaded.
+ * Generated node is cached by identities of its children, so compiling the same tree again reuses classes defined
+ * before, but every new tree costs a class (in metaspace) per merge and extraction node. Nodes that cannot be generated
+ * (merges too big to be unrolled, defining classes not permitted) are left interpreted, other nodes are rebuilt with
+ * generated children.
+ */
+final class ValidatorSpecializer extends ValidatorRewriter {
+
+    private static final ValidatorSpecializer INSTANCE = new ValidatorSpecializer();
+
+    // Bigger merges would not be inlined into parent anyway
+    private static final int MAX_UNROLLED = 32;
+
+    private static final String PACKAGE = "dsinczak/fp/validation/javadsl/ne/";
+    private static final String BASE = PACKAGE + "CompiledValidator";
+    private static final String VALIDATOR = PACKAGE + "Validator";
+    private static final String FUNCTION = "java/util/function/Function";
+    private static final String RESULT = "dsinczak/fp/validation/javadsl/ValidationResult";
+    private static final String VALIDATE = "(Ljava/lang/Object;)L" + RESULT + ";";
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_CONSTANT = 0x0002 | ACC_STATIC | 0x0010;
+    private static final int ACC_CLASS = 0x0010 | 0x0020 | 0x1000;
+
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ASTORE_0 = 0x4b;
+    private static final int ASTORE_2 = 0x4d;
+    private static final int AALOAD = 0x32;
+    private static final int BIPUSH = 0x10;
+    private static final int LDC_W = 0x13;
+    private static final int DUP = 0x59;
+    private static final int POP = 0x57;
+    private static final int IFNE = 0x9a;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETSTATIC = 0xb2;
+    private static final int PUTSTATIC = 0xb3;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int ATHROW = 0xbf;
+    private static final int CHECKCAST = 0xc0;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final AtomicLong CLASS_COUNTER = new AtomicLong();
+    // Children of generated classes, taken over by their static initializers
+    private static final Map<String, Object[]> CONSTANTS = new ConcurrentHashMap<>();
+    // Generated nodes, they are never unloaded anyway (children are held by their static fields)
+    private static final Map<Shape, Validator<?>> DEFINED = new ConcurrentHashMap<>();
+
+    private ValidatorSpecializer() {
+    }
+
+    static <T> Validator<T> specialize(Validator<T> validator) {
+        return INSTANCE.rewrite(validator);
+    }
+
+    /**
+     * Called from static initializer of generated class.
+     */
+    static Object[] constants(Class<?> type) {
+        return CONSTANTS.remove(type.getName());
+    }
+
+    @Override
+    public <T> Validator<?> visitMerge(List<Validator<T>> validators) {
+        var children = rewriteAll(validators);
+        var interpreted = new MergedValidator<>(children);
+        if (children.isEmpty() || children.size() > MAX_UNROLLED) {
+            return interpreted;
+        }
+        return define("Merge", interpreted, children.toArray(), validatorTypes(children.size()), code -> {
+            // Merge state is kept in local, so accumulator can be released when child throws
+            code.getStatic(0, VALIDATOR).op(ALOAD_1).invokeInterface(VALIDATOR, "validate", VALIDATE, 2).op(ASTORE_2);
+            var start = code.offset();
+            for (int i = 1; i < children.size(); i++) {
+                code.op(ALOAD_2).getStatic(i, VALIDATOR).op(ALOAD_1).invokeInterface(VALIDATOR, "validate", VALIDATE, 2)
+                        .invokeStatic(BASE, "merge", "(Ljava/lang/Object;L" + RESULT + ";)Ljava/lang/Object;").op(ASTORE_2);
+            }
+            var end = code.offset();
+            code.op(ALOAD_2).invokeStatic(BASE, "merged", "(Ljava/lang/Object;)L" + RESULT + ";").op(ARETURN);
+            if (end > start) {
+                code.catchAll(start, end).op(ALOAD_2).invokeStatic(BASE, "release", "(Ljava/lang/Object;)V").op(ATHROW);
+            }
+        });
+    }
+
+    @Override
+    public <T> Validator<?> visitMergeFailFast(List<Validator<T>> validators) {
+        var children = rewriteAll(validators);
+        var interpreted = new FailFastMergedValidator<>(children);
+        if (children.isEmpty() || children.size() > MAX_UNROLLED) {
+            return interpreted;
+        }
+        return define("MergeFailFast", interpreted, children.toArray(), validatorTypes(children.size()), code -> {
+            for (int i = 0; i < children.size() - 1; i++) {
+                code.getStatic(i, VALIDATOR).op(ALOAD_1).invokeInterface(VALIDATOR, "validate", VALIDATE, 2)
+                        .op(DUP).invokeVirtual(RESULT, "isSuccess", "()Z")
+                        // jump over areturn to pop of successful result
+                        .op(IFNE).u2(4).op(ARETURN)
+                        .resultOnStackFrame().op(POP);
+            }
+            code.getStatic(children.size() - 1, VALIDATOR).op(ALOAD_1).invokeInterface(VALIDATOR, "validate", VALIDATE, 2)
+                    .op(ARETURN);
+        });
+    }
+
+    @Override
+    public <A, B> Validator<?> visitExtract(Function<A, B> extractor, Validator<B> validator) {
+        var child = rewrite(validator);
+        var interpreted = new ExtractingValidator<>(extractor, child);
+        return define("Extract", interpreted, new Object[]{extractor, child}, new String[]{FUNCTION, VALIDATOR}, code ->
+                code.getStatic(1, VALIDATOR).getStatic(0, FUNCTION).op(ALOAD_1)
+                        .invokeInterface(FUNCTION, "apply", "(Ljava/lang/Object;)Ljava/lang/Object;", 2)
+                        .invokeInterface(VALIDATOR, "validate", VALIDATE, 2)
+                        .op(ARETURN));
+    }
+
+    private static String[] validatorTypes(int count) {
+        var types = new String[count];
+        Arrays.fill(types, VALIDATOR);
+        return types;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Validator<T> define(String kind, Validator<T> interpreted, Object[] constants, String[] constantTypes,
+                                           Consumer<Code> validate) {
+        return (Validator<T>) DEFINED.computeIfAbsent(new Shape(kind, constants),
+                shape -> defineClass(kind, interpreted, constants, constantTypes, validate));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Validator<T> defineClass(String kind, Validator<T> interpreted, Object[] constants, String[] constantTypes,
+                                                Consumer<Code> validate) {
+        var name = PACKAGE + "Compiled" + kind + CLASS_COUNTER.incrementAndGet();
+        var binaryName = name.replace('/', '.');
+        CONSTANTS.put(binaryName, constants);
+        try {
+            var type = LOOKUP.defineClass(generate(name, constantTypes, validate));
+            return (Validator<T>) type.getDeclaredConstructor(Validator.class).newInstance(interpreted);
+        } catch (LinkageError | ReflectiveOperationException | SecurityException e) {
+            return interpreted;
+        } finally {
+            CONSTANTS.remove(binaryName);
+        }
+    }
+
+    /**
+     * Class extending {@link CompiledValidator} with constants in static final fields <code>c0, c1, ...</code>
+     * (initialized from {@link #constants(Class)}) and given body of <code>validate</code>.
+     */
+    private static byte[] generate(String name, String[] constantTypes, Consumer<Code> validate) {
+        var classFile = new ClassFile();
+        var thisClass = classFile.type(name);
+        var superClass = classFile.type(BASE);
+
+        var constructor = new Code(classFile, name, 2, 2);
+        constructor.op(ALOAD_0).op(ALOAD_1).invokeSpecial(BASE, "<init>", "(L" + VALIDATOR + ";)V").op(RETURN);
+
+        var initializer = new Code(classFile, name, 2, 1);
+        initializer.op(LDC_W).u2(thisClass)
+                .invokeStatic(PACKAGE + "ValidatorSpecializer", "constants", "(Ljava/lang/Class;)[Ljava/lang/Object;")
+                .op(ASTORE_0);
+        for (int i = 0; i < constantTypes.length; i++) {
+            initializer.op(ALOAD_0).op(BIPUSH).u1(i).op(AALOAD)
+                    .op(CHECKCAST).u2(classFile.type(constantTypes[i]))
+                    .op(PUTSTATIC).u2(classFile.field(name, "c" + i, "L" + constantTypes[i] + ";"));
+        }
+        initializer.op(RETURN);
+
+        var body = new Code(classFile, name, 3, 3);
+        validate.accept(body);
+
+        var methods = List.of(
+                classFile.methodInfo(0, "<init>", "(L" + VALIDATOR + ";)V", constructor),
+                classFile.methodInfo(ACC_STATIC, "<clinit>", "()V", initializer),
+                classFile.methodInfo(ACC_PUBLIC, "validate", VALIDATE, body));
+        var fields = new int[constantTypes.length][];
+        for (int i = 0; i < constantTypes.length; i++) {
+            fields[i] = new int[]{classFile.utf8("c" + i), classFile.utf8("L" + constantTypes[i] + ";")};
+        }
+        return classFile.toBytes(thisClass, superClass, fields, methods);
+    }
+
+    /**
+     * Node kind and identities of its constants (children are generated bottom up, so children of the same tree
+     * compiled again are the same instances).
+     */
+    private static final class Shape {
+
+        private final String kind;
+        private final Object[] constants;
+
+        private Shape(String kind, Object[] constants) {
+            this.kind = kind;
+            this.constants = constants;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Shape)) {
+                return false;
+            }
+            var other = (Shape) o;
+            if (!kind.equals(other.kind) || constants.length != other.constants.length) {
+                return false;
+            }
+            for (int i = 0; i < constants.length; i++) {
+                if (constants[i] != other.constants[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            var hash = kind.hashCode();
+            for (Object constant : constants) {
+                hash = 31 * hash + System.identityHashCode(constant);
+            }
+            return hash;
+        }
+    }
+
+    /**
+     * Minimal class file writer: constant pool with deduplicated entries, static final fields and methods with
+     * catch all exception handlers only.
+     */
+    private static final class ClassFile {
+
+        private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+        private final DataOutputStream poolOut = new DataOutputStream(pool);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int poolSize = 1;
+
+        int utf8(String value) {
+            return entry("Utf8 " + value, out -> {
+                out.writeByte(1);
+                out.writeUTF(value);
+            });
+        }
+
+        int type(String internalName) {
+            var nameIndex = utf8(internalName);
+            return entry("Class " + internalName, out -> {
+                out.writeByte(7);
+                out.writeShort(nameIndex);
+            });
+        }
+
+        int field(String owner, String name, String descriptor) {
+            return member(9, owner, name, descriptor);
+        }
+
+        int method(String owner, String name, String descriptor) {
+            return member(10, owner, name, descriptor);
+        }
+
+        int interfaceMethod(String owner, String name, String descriptor) {
+            return member(11, owner, name, descriptor);
+        }
+
+        private int member(int tag, String owner, String name, String descriptor) {
+            var ownerIndex = type(owner);
+            var nameIndex = utf8(name);
+            var descriptorIndex = utf8(descriptor);
+            var nameAndType = entry("NameAndType " + name + " " + descriptor, out -> {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+            return entry(tag + " " + owner + "." + name + descriptor, out -> {
+                out.writeByte(tag);
+                out.writeShort(ownerIndex);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        private int entry(String key, PoolEntry entry) {
+            var index = entries.get(key);
+            if (index != null) {
+                return index;
+            }
+            write(() -> entry.write(poolOut));
+            entries.put(key, poolSize);
+            return poolSize++;
+        }
+
+        byte[] methodInfo(int access, String name, String descriptor, Code code) {
+            var nameIndex = utf8(name);
+            var descriptorIndex = utf8(descriptor);
+            var codeIndex = utf8("Code");
+            var stackMapIndex = code.frameCount > 0 ? utf8("StackMapTable") : 0;
+            var bytes = new ByteArrayOutputStream();
+            var out = new DataOutputStream(bytes);
+            write(() -> {
+                out.writeShort(access);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+                out.writeShort(1);
+                var stackMapLength = code.frameCount > 0 ? 6 + 2 + code.frames.size() : 0;
+                out.writeShort(codeIndex);
+                out.writeInt(2 + 2 + 4 + code.bytes.size() + 2 + code.handlers.size() + 2 + stackMapLength);
+                out.writeShort(code.maxStack);
+                out.writeShort(code.maxLocals);
+                out.writeInt(code.bytes.size());
+                code.bytes.writeTo(out);
+                out.writeShort(code.handlers.size() / 8);
+                code.handlers.writeTo(out);
+                if (code.frameCount > 0) {
+                    out.writeShort(1);
+                    out.writeShort(stackMapIndex);
+                    out.writeInt(2 + code.frames.size());
+                    out.writeShort(code.frameCount);
+                    code.frames.writeTo(out);
+                } else {
+                    out.writeShort(0);
+                }
+            });
+            return bytes.toByteArray();
+        }
+
+        byte[] toBytes(int thisClass, int superClass, int[][] fields, List<byte[]> methods) {
+            var bytes = new ByteArrayOutputStream();
+            var out = new DataOutputStream(bytes);
+            write(() -> {
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(55);
+                out.writeShort(poolSize);
+                pool.writeTo(out);
+                out.writeShort(ACC_CLASS);
+                out.writeShort(thisClass);
+                out.writeShort(superClass);
+                out.writeShort(0);
+                out.writeShort(fields.length);
+                for (int[] field : fields) {
+                    out.writeShort(ACC_CONSTANT);
+                    out.writeShort(field[0]);
+                    out.writeShort(field[1]);
+                    out.writeShort(0);
+                }
+                out.writeShort(methods.size());
+                for (byte[] method : methods) {
+                    out.write(method);
+                }
+                out.writeShort(0);
+            });
+            return bytes.toByteArray();
+        }
+
+        private static void write(Write write) {
+            try {
+                write.write();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface PoolEntry {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Write {
+        void write() throws IOException;
+    }
+
+    /**
+     * Bytecode of single method. Only stack map frames needed by generated code (locals unchanged and validation
+     * result on stack, or merge state in local and exception on stack) are supported.
+     */
+    private static final class Code {
+
+        private final ClassFile classFile;
+        private final String owner;
+        private final int maxStack;
+        private final int maxLocals;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream handlers = new ByteArrayOutputStream();
+        private int frameCount;
+        private int lastFrame = -1;
+
+        private Code(ClassFile classFile, String owner, int maxStack, int maxLocals) {
+            this.classFile = classFile;
+            this.owner = owner;
+            this.maxStack = maxStack;
+            this.maxLocals = maxLocals;
+        }
+
+        int offset() {
+            return bytes.size();
+        }
+
+        Code op(int opcode) {
+            bytes.write(opcode);
+            return this;
+        }
+
+        Code u1(int value) {
+            bytes.write(value);
+            return this;
+        }
+
+        Code u2(int value) {
+            bytes.write(value >>> 8);
+            bytes.write(value);
+            return this;
+        }
+
+        Code getStatic(int constant, String type) {
+            return op(GETSTATIC).u2(classFile.field(owner, "c" + constant, "L" + type + ";"));
+        }
+
+        Code invokeStatic(String owner, String name, String descriptor) {
+            return op(INVOKESTATIC).u2(classFile.method(owner, name, descriptor));
+        }
+
+        Code invokeSpecial(String owner, String name, String descriptor) {
+            return op(INVOKESPECIAL).u2(classFile.method(owner, name, descriptor));
+        }
+
+        Code invokeVirtual(String owner, String name, String descriptor) {
+            return op(INVOKEVIRTUAL).u2(classFile.method(owner, name, descriptor));
+        }
+
+        Code invokeInterface(String owner, String name, String descriptor, int argumentSlots) {
+            return op(INVOKEINTERFACE).u2(classFile.interfaceMethod(owner, name, descriptor)).u1(argumentSlots).u1(0);
+        }
+
+        /**
+         * Frame at current offset: locals of method entry and {@link dsinczak.fp.validation.javadsl.ValidationResult}
+         * on stack.
+         */
+        Code resultOnStackFrame() {
+            var delta = frameDelta();
+            if (delta < 64) {
+                frames.write(64 + delta);
+            } else {
+                frames.write(247);
+                frames.write(delta >>> 8);
+                frames.write(delta);
+            }
+            writeType(RESULT);
+            return this;
+        }
+
+        /**
+         * Handler (at current offset) of any exception thrown by code between <code>start</code> (inclusive) and
+         * <code>end</code> (exclusive). Handler starts with merge state in local 2 and exception on stack.
+         */
+        Code catchAll(int start, int end) {
+            var handler = bytes.size();
+            for (int value : new int[]{start, end, handler, 0}) {
+                handlers.write(value >>> 8);
+                handlers.write(value);
+            }
+            var delta = frameDelta();
+            frames.write(255);
+            frames.write(delta >>> 8);
+            frames.write(delta);
+            frames.write(0);
+            frames.write(3);
+            writeType(owner);
+            writeType("java/lang/Object");
+            writeType("java/lang/Object");
+            frames.write(0);
+            frames.write(1);
+            writeType("java/lang/Throwable");
+            return this;
+        }
+
+        private int frameDelta() {
+            var offset = bytes.size();
+            var delta = lastFrame < 0 ? offset : offset - lastFrame - 1;
+            frameCount++;
+            lastFrame = offset;
+            return delta;
+        }
+
+        private void writeType(String internalName) {
+            var type = classFile.type(internalName);
+            frames.write(7);
+            frames.write(type >>> 8);
+            frames.write(type);
+        }
+    }
+}
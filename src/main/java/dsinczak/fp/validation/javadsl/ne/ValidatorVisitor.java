@@ -0,0 +1,59 @@
+package dsinczak.fp.validation.javadsl.ne;
+
+import dsinczak.fp.validation.javadsl.ValidationResult;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Visitor of validator graph. Every combinator of {@link Validators} builds node of the graph which dispatches to
+ * matching method with {@link Validator#accept(ValidatorVisitor)}, any other validator (e.g. user defined lambda)
+ * is a leaf. This way validator trees can be inspected, printed (see {@link Validators#describe(Validator)}) or
+ * rewritten (see {@link ValidatorRewriter}).
+ *
+ * @param <R> visiting result type
+ */
+public interface ValidatorVisitor<R> {
+
+    R visitNeutral();
+
+    <T> R visitMerge(List<Validator<T>> validators);
+
+    <T> R visitMergeFailFast(List<Validator<T>> validators);
+
+    <T> R visitMergeAggregated(List<Validator<T>> validators, int sampleSize);
+
+    <T> R visitForEach(Validator<T> validator);
+
+    <T> R visitForEachFailFast(Validator<T> validator);
+
+    <T> R visitForEachAggregated(Validator<T> validator, int sampleSize);
+
+    <A, B> R visitExtract(Function<A, B> extractor, Validator<B> validator);
+
+    /**
+     * @param orElse result used when extracted value does not exist (success for plain <code>ifExists</code>)
+     */
+    <A, B> R visitIfExists(Function<A, B> extractor, Validator<B> validator, ValidationResult orElse);
+
+    <T> R visitExceptionally(Validator<T> validator, Function<Throwable, ValidationResult> handler);
+
+    /**
+     * @param key      identifies aggregate whose results are remembered
+     * @param capacity number of remembered aggregates
+     * @param parts    extracting (or <code>ifExists</code>) validators of aggregate parts
+     * @see IncrementalValidator
+     */
+    <A> R visitIncremental(Function<A, ?> key, int capacity, List<Validator<A>> parts);
+
+    /**
+     * Validator with sampling or shadow.
+     *
+     * @param name       description of decoration, e.g. <code>sampled(rate=0.01)</code>
+     * @param decoration wraps given validator with the same behaviour
+     */
+    <T> R visitDecorated(Validator<T> validator, String name, UnaryOperator<Validator<T>> decoration);
+
+    <T> R visitLeaf(Validator<T> validator);
+}
@@ -5,10 +5,17 @@ import dsinczak.fp.validation.javadsl.Message;
 import dsinczak.fp.validation.javadsl.ValidationResult;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 public abstract class Validators {
@@ -38,6 +45,19 @@ public abstract class Validators {
         return new FailFastMergedValidator<>(validators);
     }
 
+    /**
+     * Merge validators collapsing equal messages into single {@link Message.AggregatedMessage} with occurrence count
+     * and up to <code>sampleSize</code> indices of validators that reported it.
+     */
+    @SafeVarargs
+    public static <S> Validator<S> mergeAggregated(int sampleSize, Validator<S>... validators) {
+        return new MergedValidator<>(List.of(validators), sampleSize);
+    }
+
+    public static <S> Validator<S> mergeAggregated(int sampleSize, List<Validator<S>> validators) {
+        return new MergedValidator<>(validators, sampleSize);
+    }
+
     ////////////////////////////
     //       ITERATION        //
     ////////////////////////////
@@ -50,32 +70,117 @@ public abstract class Validators {
         return new FailFastForEachValidator<>(validator);
     }
 
+    /**
+     * Validate all elements collapsing equal messages into single {@link Message.AggregatedMessage} with occurrence
+     * count and up to <code>sampleSize</code> indices of elements that failed with it. Useful for huge collections
+     * where most of the elements fail the same way.
+     */
+    public static <A> Validator<Iterable<A>> forEachAggregated(Validator<A> validator, int sampleSize) {
+        return new ForEachValidator<>(validator, sampleSize);
+    }
+
+    // Lazy sources: elements are pulled one by one in single pass (source is never materialized) and fail fast
+    // variants stop pulling at first failure. Sources are consumed but not closed (e.g. stream backed by database
+    // cursor has to be closed by the caller). Arrays are validated with index loop.
+
+    public static <A> Validator<Stream<A>> forEachInStream(Validator<A> validator) {
+        return extract(Validators::once, forEach(validator));
+    }
+
+    public static <A> Validator<Stream<A>> forEachFailFastInStream(Validator<A> validator) {
+        return extract(Validators::once, forEachFailFast(validator));
+    }
+
+    public static <A> Validator<Iterator<A>> forEachInIterator(Validator<A> validator) {
+        return extract(Validators::once, forEach(validator));
+    }
+
+    public static <A> Validator<Iterator<A>> forEachFailFastInIterator(Validator<A> validator) {
+        return extract(Validators::once, forEachFailFast(validator));
+    }
+
+    public static <A> Validator<Spliterator<A>> forEachInSpliterator(Validator<A> validator) {
+        return extract(Validators::once, forEach(validator));
+    }
+
+    public static <A> Validator<Spliterator<A>> forEachFailFastInSpliterator(Validator<A> validator) {
+        return extract(Validators::once, forEachFailFast(validator));
+    }
+
+    public static <A> Validator<A[]> forEachInArray(Validator<A> validator) {
+        // Fixed size list view of array (RandomAccess), nothing is copied
+        return extract(Arrays::asList, forEach(validator));
+    }
+
+    public static <A> Validator<A[]> forEachFailFastInArray(Validator<A> validator) {
+        return extract(Arrays::asList, forEachFailFast(validator));
+    }
+
+    private static <A> Iterable<A> once(Stream<A> stream) {
+        return once(stream.iterator());
+    }
+
+    private static <A> Iterable<A> once(Spliterator<A> spliterator) {
+        return once(Spliterators.iterator(spliterator));
+    }
+
+    // Single use iterable, for-each validators iterate only once
+    private static <A> Iterable<A> once(Iterator<A> iterator) {
+        return () -> iterator;
+    }
+
     ////////////////////////////
     //       EXTRACTION       //
     ////////////////////////////
 
     public static <A, B> Validator<A> extract(Function<A, B> extractor, Validator<B> validator) {
-        return a -> validator.apply(extractor.apply(a));
+        return new ExtractingValidator<>(extractor, validator);
     }
 
     public static <A, B> Validator<A> ifExists(Function<A, B> extractor, Validator<B> validator) {
-        return a -> Optional.ofNullable(extractor.apply(a))
-                .map(validator)
-                .orElseGet(ValidationResult::success);
+        return new IfExistsValidator<>(extractor, validator, ValidationResult.success());
     }
 
     public static <A, B> Validator<A> ifExistsOrElse(Function<A, B> extractor, Validator<B> validator, Message orElseMessage) {
-        return a -> Optional.ofNullable(extractor.apply(a))
-                .map(validator)
-                .orElseGet(() -> ValidationResult.failed(orElseMessage));
+        return new IfExistsValidator<>(extractor, validator, ValidationResult.failed(orElseMessage));
     }
 
     public static <A, B> Validator<A> forEach(Function<A, Iterable<B>> extractor, Validator<B> validator) {
-        return a -> forEach(validator).apply(extractor.apply(a));
+        return extract(extractor, forEach(validator));
+    }
+
+    public static <A, B> Validator<A> forEachAggregated(Function<A, Iterable<B>> extractor, Validator<B> validator, int sampleSize) {
+        return extract(extractor, forEachAggregated(validator, sampleSize));
     }
 
     public static <A, B> Validator<A> forEachFailFast(Function<A, Iterable<B>> extractor, Validator<B> validator) {
-        return a -> forEachFailFast(validator).apply(extractor.apply(a));
+        return extract(extractor, forEachFailFast(validator));
+    }
+
+    public static <A, B> Validator<A> forEachInStream(Function<A, Stream<B>> extractor, Validator<B> validator) {
+        return extract(extractor, forEachInStream(validator));
+    }
+
+    public static <A, B> Validator<A> forEachFailFastInStream(Function<A, Stream<B>> extractor, Validator<B> validator) {
+        return extract(extractor, forEachFailFastInStream(validator));
+    }
+
+    public static <A, B> Validator<A> forEachInArray(Function<A, B[]> extractor, Validator<B> validator) {
+        return extract(extractor, forEachInArray(validator));
+    }
+
+    public static <A, B> Validator<A> forEachFailFastInArray(Function<A, B[]> extractor, Validator<B> validator) {
+        return extract(extractor, forEachFailFastInArray(validator));
+    }
+
+    /**
+     * Create (empty) incremental validator remembering results of at most <code>capacity</code> aggregates identified
+     * by <code>key</code>. Parts are added with {@link IncrementalValidator#extract(Function, Validator)},
+     * {@link IncrementalValidator#ifExists(Function, Validator)} and
+     * {@link IncrementalValidator#ifExistsOrElse(Function, Validator, Message)}.
+     */
+    public static <A> IncrementalValidator<A> incremental(Function<A, ?> key, int capacity) {
+        return IncrementalValidator.empty(key, capacity);
     }
 
     ////////////////////////////
@@ -83,27 +188,74 @@ public abstract class Validators {
     ////////////////////////////
 
     public static <A> Validator<A> exceptionally(Validator<A> validator, Function<Throwable, Message> messageProvider) {
-        return a -> {
-            try {
-                return validator.apply(a);
-            } catch (Throwable throwable) {
-                return ValidationResult.failed(messageProvider.apply(throwable));
-            }
-        };
+        return new ExceptionallyValidator<>(validator, throwable -> ValidationResult.failed(messageProvider.apply(throwable)));
     }
 
     public static <A> Validator<A> exceptionally(Validator<A> validator, List<ErrorCase> cases) {
-        return a -> {
-            try {
-                return validator.apply(a);
-            } catch (Throwable throwable) {
-                return ErrorCase.findOrRethrow(cases, throwable);
-            }
-        };
+        return new ExceptionallyValidator<>(validator, throwable -> ErrorCase.findOrRethrow(cases, throwable));
     }
 
     public static <A> Validator<A> exceptionally(Validator<A> validator, ErrorCase... cases) {
         return exceptionally(validator, Arrays.stream(cases).collect(Collectors.toList()));
     }
 
+    ////////////////////////////
+    //  SHADOWING & SAMPLING  //
+    ////////////////////////////
+
+    /**
+     * Run validator in shadow on common fork-join pool with at most 256 shadow validations in flight.
+     *
+     * @see ShadowValidator
+     */
+    public static <A> ShadowValidator<A> shadow(Validator<A> validator, BiConsumer<A, ValidationResult> sink) {
+        return shadow(validator, ForkJoinPool.commonPool(), ShadowValidator.DEFAULT_MAX_IN_FLIGHT, sink);
+    }
+
+    /**
+     * @see ShadowValidator
+     */
+    public static <A> ShadowValidator<A> shadow(Validator<A> validator, Executor executor, int maxInFlight, BiConsumer<A, ValidationResult> sink) {
+        return new ShadowValidator<>(validator, executor, maxInFlight, sink);
+    }
+
+    /**
+     * Run validator only for randomly chosen <code>rate</code> fraction of validated values (e.g. <code>0.01</code>
+     * for 1%), validation of the rest succeeds without calling validator. Sampled validator is run by calling thread,
+     * so to also keep its latency away from validated flow it can be shadowed:
+     * <code>shadow(sampled(fraudCheck, 0.01), sink)</code>.
+     */
+    public static <A> Validator<A> sampled(Validator<A> validator, double rate) {
+        if (!(rate >= 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException("Sampling rate must be within [0, 1]");
+        }
+        return new DecoratedValidator<>(validator, "sampled(rate=" + rate + ")",
+                decorated -> a -> ThreadLocalRandom.current().nextDouble() < rate ? decorated.validate(a) : ValidationResult.success());
+    }
+
+    ////////////////////////////
+    //      COMPILATION       //
+    ////////////////////////////
+
+    /**
+     * Build cheaper equivalent of composed validator tree: nested merges are flattened into single merge, neutral
+     * validators are dropped and nested extractions are fused into single extraction. Merges (up to 32 children) and
+     * extractions are then replaced with classes generated for given node, which call their children directly (merge
+     * is unrolled), so each call site sees single validator class and JIT can inline the tree instead of dispatching
+     * through megamorphic <code>validate</code> calls. Validators that cannot be compiled are left as they are and
+     * interpreted. Generated classes are never unloaded: compiling the same tree again reuses them, but every new tree
+     * costs metaspace for a class per merge and extraction node, so compilation should be done once (e.g. at startup)
+     * and compiled validator reused.
+     */
+    public static <A> Validator<A> compile(Validator<A> validator) {
+        return ValidatorCompiler.compile(validator);
+    }
+
+    /**
+     * @return validator graph rendered as indented tree (one node per line), e.g. to check what compilation did
+     * @see ValidatorVisitor
+     */
+    public static String describe(Validator<?> validator) {
+        return validator.accept(ValidatorPrinter.INSTANCE);
+    }
 }
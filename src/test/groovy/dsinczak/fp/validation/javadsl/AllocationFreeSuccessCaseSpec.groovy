@@ -0,0 +1,120 @@
+package dsinczak.fp.validation.javadsl
+
+import groovy.transform.CompileStatic
+import spock.lang.Specification
+
+import java.lang.management.ManagementFactory
+import java.util.concurrent.CompletableFuture
+import java.util.function.Function
+
+class AllocationFreeSuccessCaseSpec extends Specification {
+
+    static final int WARM_UP = 50_000
+    static final int ITERATIONS = 10_000
+    // Single round can be hit by allocation not related to validation (e.g. JIT compilation, TLAB refill), so
+    // measurement is repeated and the best round is taken
+    static final int ROUNDS = 10
+
+    def 'should not allocate on successful validation of synchronous validators'() {
+        given:
+            def leaf = new NotEmpty()
+            def validator = dsinczak.fp.validation.javadsl.ne.Validators.merge(
+                    leaf,
+                    dsinczak.fp.validation.javadsl.ne.Validators.mergeFailFast(leaf, leaf),
+                    dsinczak.fp.validation.javadsl.ne.Validators.ifExists(Function.identity(), leaf),
+                    dsinczak.fp.validation.javadsl.ne.Validators.extract(Function.identity(), leaf),
+                    dsinczak.fp.validation.javadsl.ne.Validators.exceptionally(leaf, { t -> Message.of("Oops") } as Function),
+                    dsinczak.fp.validation.javadsl.ne.Validator.neutral()
+            )
+            def forEach = dsinczak.fp.validation.javadsl.ne.Validators.forEach(leaf)
+                    .merge(dsinczak.fp.validation.javadsl.ne.Validators.forEachFailFast(leaf))
+        expect:
+            allocatedBytes(validator, "Damian") / ITERATIONS < 1
+            allocatedBytes(forEach, List.of("Damian", "Kinga")) / ITERATIONS < 1
+    }
+
+    def 'should not allocate on successful validation of completable future validators'() {
+        given:
+            def leaf = dsinczak.fp.validation.javadsl.cf.Validators.lift(new NotEmpty())
+            def validator = dsinczak.fp.validation.javadsl.cf.Validators.merge(
+                    leaf,
+                    dsinczak.fp.validation.javadsl.cf.Validators.mergeFailFast(leaf, leaf),
+                    dsinczak.fp.validation.javadsl.cf.Validators.ifExists(Function.identity(), leaf),
+                    dsinczak.fp.validation.javadsl.cf.Validators.extract(Function.identity(), leaf),
+                    dsinczak.fp.validation.javadsl.cf.Validators.exceptionally(leaf, { t -> Message.of("Oops") } as Function),
+                    dsinczak.fp.validation.javadsl.cf.Validator.neutral()
+            )
+            def forEach = dsinczak.fp.validation.javadsl.cf.Validators.forEach(leaf)
+                    .merge(dsinczak.fp.validation.javadsl.cf.Validators.forEachFailFast(leaf))
+        expect:
+            allocatedBytes(validator, "Damian") / ITERATIONS < 1
+            allocatedBytes(forEach, List.of("Damian", "Kinga")) / ITERATIONS < 1
+    }
+
+    def 'should return new future of successful validation to user code'() {
+        given:
+            def valid = dsinczak.fp.validation.javadsl.cf.Validator.valid()
+        when:
+            valid.obtrudeValue(ValidationResult.failed("Poisoned"))
+        then:
+            !valid.is(dsinczak.fp.validation.javadsl.cf.Validator.valid())
+            dsinczak.fp.validation.javadsl.cf.Validator.valid().join() == ValidationResult.success()
+    }
+
+    def 'should not let callers obtrude shared successful validation returned by combinators'() {
+        given:
+            def validator = dsinczak.fp.validation.javadsl.cf.Validators.merge(dsinczak.fp.validation.javadsl.cf.Validators.lift(new NotEmpty()))
+        when:
+            validator.validate("Damian").obtrudeValue(ValidationResult.failed("Poisoned"))
+        then:
+            thrown(UnsupportedOperationException)
+            validator.validate("Kinga").join() == ValidationResult.success()
+    }
+
+    @CompileStatic
+    static <T> long allocatedBytes(dsinczak.fp.validation.javadsl.ne.Validator<T> validator, T value) {
+        for (int i = 0; i < WARM_UP; i++) {
+            validator.validate(value)
+        }
+        def threadId = Thread.currentThread().getId()
+        def threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()
+        long min = Long.MAX_VALUE
+        for (int round = 0; round < ROUNDS && min > 0; round++) {
+            long overhead = -threadMXBean.getThreadAllocatedBytes(threadId) + threadMXBean.getThreadAllocatedBytes(threadId)
+            long before = threadMXBean.getThreadAllocatedBytes(threadId)
+            for (int i = 0; i < ITERATIONS; i++) {
+                validator.validate(value)
+            }
+            min = Math.min(min, threadMXBean.getThreadAllocatedBytes(threadId) - before - overhead)
+        }
+        return min
+    }
+
+    @CompileStatic
+    static <T> long allocatedBytes(dsinczak.fp.validation.javadsl.cf.Validator<T> validator, T value) {
+        for (int i = 0; i < WARM_UP; i++) {
+            validator.validate(value)
+        }
+        def threadId = Thread.currentThread().getId()
+        def threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()
+        long min = Long.MAX_VALUE
+        for (int round = 0; round < ROUNDS && min > 0; round++) {
+            long overhead = -threadMXBean.getThreadAllocatedBytes(threadId) + threadMXBean.getThreadAllocatedBytes(threadId)
+            long before = threadMXBean.getThreadAllocatedBytes(threadId)
+            for (int i = 0; i < ITERATIONS; i++) {
+                CompletableFuture<ValidationResult> ignore = validator.validate(value)
+            }
+            min = Math.min(min, threadMXBean.getThreadAllocatedBytes(threadId) - before - overhead)
+        }
+        return min
+    }
+
+    @CompileStatic
+    static class NotEmpty implements dsinczak.fp.validation.javadsl.ne.Validator<String> {
+        @Override
+        ValidationResult validate(String value) {
+            value.isEmpty() ? ValidationResult.failed("Empty") : ValidationResult.success()
+        }
+    }
+
+}
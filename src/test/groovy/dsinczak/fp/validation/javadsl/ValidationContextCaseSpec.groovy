@@ -0,0 +1,87 @@
+package dsinczak.fp.validation.javadsl
+
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+
+import static dsinczak.fp.validation.javadsl.ValidationResult.failed
+import static dsinczak.fp.validation.javadsl.ValidationResult.success
+
+class ValidationContextCaseSpec extends Specification {
+
+    def 'should reuse released accumulator on the same thread'() {
+        given:
+            def context = ValidationContext.current()
+            def accumulator = context.acquire()
+            accumulator.add(failed("First"))
+            accumulator.release()
+        when:
+            def reused = context.acquire()
+        then:
+            reused.is(accumulator)
+            reused.isEmpty()
+            reused.toValidationResult() == success()
+        cleanup:
+            reused.release()
+    }
+
+    def 'should reject releasing accumulator twice'() {
+        given:
+            def accumulator = ValidationContext.current().acquire()
+            accumulator.release()
+        when:
+            accumulator.release()
+        then:
+            thrown(IllegalStateException)
+    }
+
+    def 'should give accumulator released by other thread back to acquiring thread'() {
+        given:
+            def context = ValidationContext.current()
+            def held = (0..<context.pooledCount()).collect { context.acquire() }
+            def accumulator = context.acquire()
+            accumulator.add(failed("First"))
+            def executor = Executors.newSingleThreadExecutor()
+        when:
+            CompletableFuture.runAsync({ accumulator.release() }, executor).join()
+            def reused = context.acquire()
+        then:
+            reused.is(accumulator)
+            reused.isEmpty()
+        cleanup:
+            reused?.release()
+            held*.release()
+            executor.shutdown()
+    }
+
+    def 'should merge many failures in order and give accumulator back'() {
+        given:
+            def validator = dsinczak.fp.validation.javadsl.ne.Validators.merge(
+                    failing("A"), dsinczak.fp.validation.javadsl.ne.Validators.forEach({ List l -> l } as java.util.function.Function, failing("B")), failing("C"))
+        when:
+            def result = validator.validate([1, 2, 3])
+        then:
+            result == failed("A", "B", "B", "B", "C")
+            ValidationContext.current().pooledCount() > 0
+    }
+
+    def 'should merge asynchronous failures completed on other threads'() {
+        given:
+            def executor = Executors.newFixedThreadPool(4)
+            dsinczak.fp.validation.javadsl.cf.Validator<Integer> async = { Integer i ->
+                CompletableFuture.supplyAsync({ failed("Failure $i".toString()) }, executor)
+            }
+            def validator = dsinczak.fp.validation.javadsl.cf.Validators.forEach(async)
+        when:
+            def results = (1..50).collect { validator.validate((1..20).toList()).join() }
+        then:
+            results.every { it.messages*.toString() == (1..20).collect { "Failure $it".toString() } }
+        cleanup:
+            executor.shutdown()
+    }
+
+    static dsinczak.fp.validation.javadsl.ne.Validator failing(String message) {
+        return { value -> failed(message) } as dsinczak.fp.validation.javadsl.ne.Validator
+    }
+}
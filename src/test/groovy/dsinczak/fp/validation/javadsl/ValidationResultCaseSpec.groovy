@@ -30,6 +30,12 @@ class ValidationResultCaseSpec extends Specification {
             fail1 == fail2
     }
 
+    def 'should build failed result from list of messages even when the list is empty'() {
+        expect:
+            failed([Message.of("Message1"), Message.of("Message2")]) == failed("Message1", "Message2")
+            !failed([]).isSuccess()
+    }
+
     def 'should concat successful and failed validation into failure'() {
         given:
             def failedValidation = failed("bad message")
@@ -0,0 +1,88 @@
+package dsinczak.fp.validation.javadsl
+
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+import static dsinczak.fp.validation.javadsl.ValidationResult.failed
+import static dsinczak.fp.validation.javadsl.ValidationResult.success
+
+class ValidatorAggregatingCaseSpec extends Specification {
+
+    def 'should aggregate equal messages of collection elements'() {
+        given:
+            def validator = dsinczak.fp.validation.javadsl.ne.Validators.forEachAggregated(parity, 3)
+        when:
+            def result = validator.validate((1..10_000).toList())
+        then:
+            result.messages.size() == 2
+            with(result.messages[0] as Message.AggregatedMessage) {
+                message == Message.of("Even number")
+                count == 5_000
+                sampleIndices == [1, 3, 5] as int[]
+            }
+            with(result.messages[1] as Message.AggregatedMessage) {
+                message == Message.of("Divisible by 3")
+                count == 1_667
+                sampleIndices == [2, 8, 14] as int[]
+            }
+    }
+
+    def 'should return success when aggregated collection is valid'() {
+        given:
+            def validator = dsinczak.fp.validation.javadsl.ne.Validators.forEachAggregated(parity, 3)
+        expect:
+            validator.validate([1, 5, 7]) == success()
+    }
+
+    def 'should aggregate messages of merged validators by validator index'() {
+        given:
+            def validator = dsinczak.fp.validation.javadsl.ne.Validators.mergeAggregated(1, parity, parity, { i -> success() } as dsinczak.fp.validation.javadsl.ne.Validator<Integer>, parity)
+        when:
+            def result = validator.validate(4)
+        then:
+            result.messages == [new Message.AggregatedMessage(Message.of("Even number"), 3, [0] as int[])]
+    }
+
+    def 'should aggregate asynchronously completed element validations in elements order'() {
+        given:
+            dsinczak.fp.validation.javadsl.cf.Validator<Integer> asyncParity = { i ->
+                i % 2 == 0
+                        ? CompletableFuture.supplyAsync({ parity.validate(i) })
+                        : CompletableFuture.completedFuture(parity.validate(i))
+            }
+            def validator = dsinczak.fp.validation.javadsl.cf.Validators.forEachAggregated(asyncParity, 2)
+        when:
+            def result = validator.validate(elements).join()
+        then:
+            result.messages*.count == [5_000, 1_667]
+            result.messages*.sampleIndices == [[1, 3] as int[], [2, 8] as int[]]
+        where:
+            elements << [(1..10_000).toList(), new LinkedList<>((1..10_000).toList()), (1..10_000)]
+    }
+
+    def 'should not flatten aggregated merges while compiling'() {
+        given:
+            def aggregated = dsinczak.fp.validation.javadsl.ne.Validators.mergeAggregated(5, parity, parity)
+            def validator = dsinczak.fp.validation.javadsl.ne.Validators.compile(
+                    dsinczak.fp.validation.javadsl.ne.Validators.merge(aggregated, parity))
+        expect:
+            validator.validate(2) == failed([
+                    new Message.AggregatedMessage(Message.of("Even number"), 2, [0, 1] as int[]),
+                    Message.of("Even number")
+            ])
+    }
+
+    def 'should reject negative sample size'() {
+        when:
+            dsinczak.fp.validation.javadsl.ne.Validators.forEachAggregated(parity, -2)
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    static dsinczak.fp.validation.javadsl.ne.Validator<Integer> parity = { Integer i ->
+        if (i % 2 == 0) return failed("Even number")
+        if (i % 3 == 0) return failed("Divisible by 3")
+        return success()
+    }
+}
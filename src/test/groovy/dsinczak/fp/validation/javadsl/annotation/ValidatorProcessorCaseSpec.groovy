@@ -0,0 +1,214 @@
+package dsinczak.fp.validation.javadsl.annotation
+
+import dsinczak.fp.validation.javadsl.ValidationResult
+import dsinczak.fp.validation.javadsl.annotation.processing.ValidatorProcessor
+import spock.lang.Specification
+
+import javax.tools.Diagnostic
+import javax.tools.DiagnosticCollector
+import javax.tools.JavaFileObject
+import javax.tools.SimpleJavaFileObject
+import javax.tools.ToolProvider
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ValidatorProcessorCaseSpec extends Specification {
+
+    static final String ORDER = '''
+        package shop;
+
+        import dsinczak.fp.validation.javadsl.annotation.*;
+
+        @Validated
+        public class Order {
+            @NotBlank public String id;
+            @Min(1) @Max(100) public int quantity;
+            @NotNull(message = "Customer is required") @Valid public Customer customer;
+
+            @Validated
+            public static class Customer {
+                @NotBlank private String name;
+                @Min(18) public Integer age;
+
+                public Customer(String name) { this.name = name; }
+                public String getName() { return name; }
+            }
+        }
+    '''
+
+    def 'should generate validator from field constraints'() {
+        given:
+            def classLoader = compile(ORDER).classLoader
+            def order = classLoader.loadClass('shop.Order').getDeclaredConstructor().newInstance()
+            def validator = classLoader.loadClass('shop.OrderValidator').getField('INSTANCE').get(null)
+        when:
+            order.id = ' '
+            order.quantity = 101
+            def result = validator.validate(order)
+        then:
+            result == ValidationResult.failed(
+                    "id must not be blank",
+                    "quantity must be less than or equal to 100",
+                    "Customer is required"
+            )
+    }
+
+    def 'should validate nested class with generated validator using getters for private fields'() {
+        given:
+            def classLoader = compile(ORDER).classLoader
+            def order = classLoader.loadClass('shop.Order').getDeclaredConstructor().newInstance()
+            def customer = classLoader.loadClass('shop.Order$Customer').getDeclaredConstructor(String).newInstance('')
+            def validator = classLoader.loadClass('shop.OrderValidator').getField('INSTANCE').get(null)
+        when:
+            order.id = 'ORD-1'
+            order.quantity = 1
+            order.customer = customer
+            customer.age = 17
+            def result = validator.validate(order)
+        then:
+            result == ValidationResult.failed("name must not be blank", "age must be greater than or equal to 18")
+    }
+
+    def 'should report error for unsupported constraint'() {
+        when:
+            def compilation = compile('''
+                package shop;
+
+                import dsinczak.fp.validation.javadsl.annotation.*;
+
+                @Validated
+                public class Item {
+                    @NotBlank public int count;
+                }
+            ''')
+        then:
+            !compilation.success
+            compilation.errors.any { it.contains('@NotBlank can be placed on CharSequence fields only') }
+    }
+
+    def 'should report error for @Valid field of class that is not validated'() {
+        when:
+            def compilation = compile('''
+                package shop;
+
+                import dsinczak.fp.validation.javadsl.annotation.*;
+
+                @Validated
+                public class Parcel {
+                    @Valid public Address address;
+
+                    public static class Address {
+                        @NotBlank public String street;
+                    }
+                }
+            ''')
+        then:
+            !compilation.success
+            compilation.errors.any { it.contains('@Valid can be placed on fields of @Validated class type only') }
+    }
+
+    def 'should validate constrained fields inherited from superclass first'() {
+        given:
+            def classLoader = compile('''
+                package shop;
+
+                import dsinczak.fp.validation.javadsl.annotation.*;
+
+                @Validated
+                public class Invoice extends Document<String> {
+                    @NotBlank public String number;
+                }
+
+                abstract class Document<I> {
+                    @NotNull private I id;
+                    @Min(1) int version;
+
+                    public I getId() { return id; }
+                }
+            ''').classLoader
+            def invoice = classLoader.loadClass('shop.Invoice').getDeclaredConstructor().newInstance()
+            def validator = classLoader.loadClass('shop.InvoiceValidator').getField('INSTANCE').get(null)
+        when:
+            invoice.number = ''
+            def result = validator.validate(invoice)
+        then:
+            result == ValidationResult.failed(
+                    "id must not be null",
+                    "version must be greater than or equal to 1",
+                    "number must not be blank"
+            )
+    }
+
+    def 'should report error for private validated class instead of generating validator that does not compile'() {
+        when:
+            def compilation = compile('''
+                package shop;
+
+                import dsinczak.fp.validation.javadsl.annotation.*;
+
+                public class Cart {
+                    @Validated
+                    private static class Line {
+                        @NotBlank public String product;
+                    }
+                }
+            ''')
+        then:
+            !compilation.success
+            compilation.errors == ['@Validated class (and classes enclosing it) must not be private']
+    }
+
+    def 'should report error for constrained field of type that is not accessible'() {
+        when:
+            def compilation = compile('''
+                package shop;
+
+                import dsinczak.fp.validation.javadsl.annotation.*;
+
+                public class Wallet {
+                    @Validated
+                    public static class Payment {
+                        @NotNull public Token token;
+                    }
+
+                    private static class Token {
+                    }
+                }
+            ''')
+        then:
+            !compilation.success
+            compilation.errors == ['Type of constrained field token is not accessible from package of validated class']
+    }
+
+    private static Compilation compile(String source) {
+        def output = Files.createTempDirectory('generated-validators')
+        def compiler = ToolProvider.getSystemJavaCompiler()
+        def diagnostics = new DiagnosticCollector<JavaFileObject>()
+        def className = (source =~ /public class (\w+)/)[0][1]
+        def unit = new SimpleJavaFileObject(URI.create("string:///shop/${className}.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            CharSequence getCharContent(boolean ignoreEncodingErrors) { source }
+        }
+        def task = compiler.getTask(null, null, diagnostics,
+                ['-classpath', System.getProperty('java.class.path'), '-d', output.toString()],
+                null, [unit])
+        task.setProcessors([new ValidatorProcessor()])
+        def success = task.call()
+        new Compilation(
+                success: success,
+                output: output,
+                errors: diagnostics.diagnostics.findAll { it.kind == Diagnostic.Kind.ERROR }.collect { it.getMessage(null) }
+        )
+    }
+
+    static class Compilation {
+        boolean success
+        Path output
+        List<String> errors
+
+        ClassLoader getClassLoader() {
+            new URLClassLoader([output.toUri().toURL()] as URL[], ValidatorProcessorCaseSpec.classLoader)
+        }
+    }
+
+}
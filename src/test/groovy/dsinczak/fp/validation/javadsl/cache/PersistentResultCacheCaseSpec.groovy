@@ -0,0 +1,184 @@
+package dsinczak.fp.validation.javadsl.cache
+
+import dsinczak.fp.validation.javadsl.Message
+import dsinczak.fp.validation.javadsl.ValidationResult
+import dsinczak.fp.validation.javadsl.ne.Validator
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.util.function.Function
+
+class PersistentResultCacheCaseSpec extends Specification {
+
+    Path file
+    int calls
+
+    def setup() {
+        file = Files.createTempDirectory("result-cache").resolve("results.bin")
+    }
+
+    def cleanup() {
+        Files.deleteIfExists(file)
+        Files.deleteIfExists(file.parent)
+    }
+
+    def 'should validate value of the same content only once'() {
+        given:
+            def cache = PersistentResultCache.open(file)
+            def validator = cache.cached("v1", content, nameValidator)
+        when:
+            def results = ["Jan", "", "jan", "Jan", "jan"].collect { validator.validate(it) }
+        then:
+            results == [
+                    ValidationResult.success(),
+                    ValidationResult.failed("Name is required"),
+                    ValidationResult.failed(Code.NOT_CAPITALIZED, Parm.NAME, "jan", Parm.MAX_LENGTH, 20),
+                    ValidationResult.success(),
+                    ValidationResult.failed(Code.NOT_CAPITALIZED, Parm.NAME, "jan", Parm.MAX_LENGTH, 20)
+            ]
+            calls == 3
+            cache.size() == 3
+        cleanup:
+            cache.close()
+    }
+
+    def 'should restore cached results after reopening'() {
+        given:
+            PersistentResultCache.open(file).withCloseable { cache ->
+                ["Jan", "", "jan"].each { cache.cached("v1", content, nameValidator).validate(it) }
+            }
+            calls = 0
+        when:
+            def cache = PersistentResultCache.open(file)
+            def validator = cache.cached("v1", content, nameValidator)
+        then:
+            validator.validate("jan") == ValidationResult.failed(Code.NOT_CAPITALIZED, Parm.NAME, "jan", Parm.MAX_LENGTH, 20)
+            validator.validate("") == ValidationResult.failed("Name is required")
+            calls == 0
+        cleanup:
+            cache.close()
+    }
+
+    def 'should validate again with new validator version'() {
+        given:
+            def cache = PersistentResultCache.open(file)
+            cache.cached("v1", content, nameValidator).validate("jan")
+        when:
+            cache.cached("v2", content, nameValidator).validate("jan")
+        then:
+            calls == 2
+        cleanup:
+            cache.close()
+    }
+
+    def 'should drop torn record at the end of file'() {
+        given:
+            PersistentResultCache.open(file).withCloseable { cache ->
+                ["Jan", "jan"].each { cache.cached("v1", content, nameValidator).validate(it) }
+            }
+            def size = Files.size(file)
+            FileChannel.open(file, StandardOpenOption.WRITE).withCloseable { it.truncate(size - 2) }
+        when:
+            def cache = PersistentResultCache.open(file)
+        then:
+            cache.size() == 1
+            Files.size(file) < size - 2
+        when:
+            cache.cached("v1", content, nameValidator).validate("jan")
+            cache.close()
+            cache = PersistentResultCache.open(file)
+        then:
+            cache.size() == 2
+        cleanup:
+            cache.close()
+    }
+
+    def 'should skip corrupted record and keep records after it'() {
+        given:
+            PersistentResultCache.open(file).withCloseable { cache ->
+                ["Jan", "", "jan"].each { cache.cached("v1", content, nameValidator).validate(it) }
+            }
+            def size = Files.size(file)
+            // flip byte of encoded result of the first record (after file header, record length and key)
+            FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE).withCloseable {
+                def position = Integer.BYTES + Integer.BYTES + 32
+                def buffer = ByteBuffer.allocate(1)
+                it.read(buffer, position)
+                it.write(ByteBuffer.wrap([(byte) ~buffer.get(0)] as byte[]), position)
+            }
+            calls = 0
+        when:
+            def cache = PersistentResultCache.open(file)
+            def validator = cache.cached("v1", content, nameValidator)
+        then:
+            cache.size() == 2
+            Files.size(file) == size
+            validator.validate("") == ValidationResult.failed("Name is required")
+            validator.validate("jan") == ValidationResult.failed(Code.NOT_CAPITALIZED, Parm.NAME, "jan", Parm.MAX_LENGTH, 20)
+            calls == 0
+        when:
+            validator.validate("Jan")
+        then:
+            calls == 1
+            cache.size() == 3
+        cleanup:
+            cache.close()
+    }
+
+    def 'should not open cache file that is already open'() {
+        given:
+            def cache = PersistentResultCache.open(file)
+        when:
+            PersistentResultCache.open(file)
+        then:
+            thrown(IOException)
+        cleanup:
+            cache.close()
+    }
+
+    def 'should not cache results it cannot encode'() {
+        given:
+            def cache = PersistentResultCache.open(file)
+            Validator<String> validator = { String s -> calls++; ValidationResult.failed(Code.NOT_CAPITALIZED, Parm.NAME, new StringBuilder(s)) }
+            def cached = cache.cached("v1", content, validator)
+        when:
+            cached.validate("jan")
+            cached.validate("jan")
+        then:
+            calls == 2
+            cache.size() == 0
+        cleanup:
+            cache.close()
+    }
+
+    def 'should reject file that is not a cache'() {
+        given:
+            Files.write(file, "name;surname".getBytes(StandardCharsets.UTF_8))
+        when:
+            PersistentResultCache.open(file)
+        then:
+            thrown(IOException)
+    }
+
+    Function<String, byte[]> content = { String s -> s.getBytes(StandardCharsets.UTF_8) } as Function
+
+    Validator<String> nameValidator = { String s ->
+        calls++
+        if (s.isEmpty()) return ValidationResult.failed("Name is required")
+        if (!Character.isUpperCase(s.charAt(0))) return ValidationResult.failed(Code.NOT_CAPITALIZED, Parm.NAME, s, Parm.MAX_LENGTH, 20)
+        return ValidationResult.success()
+    }
+
+    enum Code implements Message.ParametrizedMessage.Code<Code> {
+        NOT_CAPITALIZED
+    }
+
+    enum Parm implements Message.ParametrizedMessage.Parm<Parm> {
+        NAME, MAX_LENGTH
+    }
+}
@@ -0,0 +1,48 @@
+package dsinczak.fp.validation.javadsl.cf
+
+import dsinczak.fp.validation.javadsl.ValidationResult
+import spock.lang.Specification
+
+class ValidatorCompilingCaseSpec extends Specification {
+
+    def 'should flatten nested merges and drop neutral validators'() {
+        given:
+            def tree = Validators.merge(
+                    Validators.merge(notEmpty, Validator.neutral()),
+                    Validators.merge(notLong, Validators.merge(notEmpty))
+            )
+        when:
+            def compiled = Validators.compile(tree)
+        then:
+            compiled instanceof MergedValidator
+            ((MergedValidator) compiled).validators() == [notEmpty, notLong, notEmpty]
+    }
+
+    def 'should return the same validation results as not compiled tree'() {
+        given:
+            def tree = Validators.merge(
+                    Validators.mergeFailFast(notEmpty, Validators.mergeFailFast(notLong, Validator.neutral())),
+                    Validators.merge(notLong)
+            )
+            def compiled = Validators.compile(tree)
+        expect:
+            compiled.validate(value).join() == tree.validate(value).join()
+        where:
+            value << ["", "abc", "abcdef"]
+    }
+
+    def 'should replace merge without validators with neutral validator'() {
+        expect:
+            Validators.compile(Validators.merge(Validator.neutral(), Validator.neutral())).is(Validator.neutral())
+    }
+
+    def 'should leave validators it does not know untouched'() {
+        expect:
+            Validators.compile(notEmpty).is(notEmpty)
+    }
+
+    Validator<String> notEmpty = { String s -> s.isEmpty() ? Validator.invalid("Empty") : Validator.valid() }
+
+    Validator<String> notLong = { String s -> s.length() > 3 ? Validator.invalid("Too long") : Validator.valid() }
+
+}
@@ -0,0 +1,68 @@
+package dsinczak.fp.validation.javadsl.cf
+
+import dsinczak.fp.validation.javadsl.Message
+import dsinczak.fp.validation.javadsl.ValidationResult
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+
+import static dsinczak.fp.validation.javadsl.ErrorCase.$
+
+class ValidatorExecutionPolicyCaseSpec extends Specification {
+
+    def 'should run validator on executor thread'() {
+        given:
+            def executor = Executors.newSingleThreadExecutor({ r -> new Thread(r, "validation-io") })
+            Validator<String> threadName = { ignore -> Validator.invalid(Thread.currentThread().name) }
+            def validator = threadName.withPolicy(ExecutionPolicy.executeOn(executor))
+        when:
+            def result = validator.validate("anything").join()
+        then:
+            result == ValidationResult.failed("validation-io")
+        cleanup:
+            executor.shutdown()
+    }
+
+    def 'should queue validations exceeding bulkhead limit and start them when running ones complete'() {
+        given:
+            def pending = [new CompletableFuture(), new CompletableFuture()]
+            def started = []
+            Validator<Integer> remote = { Integer i -> started << i; pending[i] }
+            def bulkhead = ExecutionPolicy.bulkhead(1, 1)
+            def validator = remote.withPolicy(bulkhead)
+        when:
+            def first = validator.validate(0)
+            def second = validator.validate(1)
+        then:
+            started == [0]
+            bulkhead.activeCount() == 1
+            bulkhead.queuedCount() == 1
+        when:
+            pending[0].complete(ValidationResult.success())
+        then:
+            started == [0, 1]
+            first.join() == ValidationResult.success()
+            !second.isDone()
+        when:
+            pending[1].complete(ValidationResult.failed("Remote says no"))
+        then:
+            second.join() == ValidationResult.failed("Remote says no")
+            bulkhead.activeCount() == 0
+            bulkhead.queuedCount() == 0
+    }
+
+    def 'should reject validation when bulkhead and its queue are full'() {
+        given:
+            Validator<String> remote = { ignore -> new CompletableFuture() }
+            def validator = remote.withPolicy(ExecutionPolicy.bulkhead(1, 0))
+                    .exceptionally($(RejectedExecutionException.class, { t -> Message.of("Try again later") }))
+        when:
+            validator.validate("first")
+            def result = validator.validate("second").join()
+        then:
+            result == ValidationResult.failed("Try again later")
+    }
+
+}
@@ -4,6 +4,9 @@ import dsinczak.fp.validation.javadsl.Message
 import dsinczak.fp.validation.javadsl.ValidationResult
 import spock.lang.Specification
 
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CopyOnWriteArrayList
+
 class ValidatorExtractingCaseSpec extends Specification {
 
     def 'should use merge extracting validators and return proper validation result'() {
@@ -70,6 +73,36 @@ class ValidatorExtractingCaseSpec extends Specification {
             result == ValidationResult.failed("Name: R2D2 is not a proper name", "Name: c3Po is not a proper name")
     }
 
+    def 'should merge all elements returned by iterator of weakly consistent collection shrinking while iterated'() {
+        given:
+            def names = new ConcurrentLinkedQueue<String>(["R2D2", "c3Po"])
+            Validator<String> shrinking = { String name ->
+                if (name == "R2D2") {
+                    names.remove("c3Po")
+                }
+                return nameValidator.validate(name)
+            }
+        when:
+            def result = Validators.forEach(shrinking).validate(names).join()
+        then:
+            result == ValidationResult.failed("Name: R2D2 is not a proper name", "Name: c3Po is not a proper name")
+    }
+
+    def 'should merge elements present when validation of random access list growing while iterated started'() {
+        given:
+            def names = new CopyOnWriteArrayList<String>(["R2D2", "Kinga"])
+            Validator<String> growing = { String name ->
+                if (name == "Kinga") {
+                    names.add("c3Po")
+                }
+                return nameValidator.validate(name)
+            }
+        when:
+            def result = Validators.forEach(growing).validate(names).join()
+        then:
+            result == ValidationResult.failed("Name: R2D2 is not a proper name")
+    }
+
     def 'should iterate through list and apply validator returning first failed validation'() {
         given:
             def names = List.of("Damian", "Kinga", "R2D2", "c3Po")
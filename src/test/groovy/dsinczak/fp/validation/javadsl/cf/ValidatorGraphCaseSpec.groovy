@@ -0,0 +1,125 @@
+package dsinczak.fp.validation.javadsl.cf
+
+import dsinczak.fp.validation.javadsl.Message
+import dsinczak.fp.validation.javadsl.ValidationResult
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.function.Function
+
+class ValidatorGraphCaseSpec extends Specification {
+
+    def 'should describe validator graph built with combinators'() {
+        given:
+            def validator = Validators.merge(
+                    Validators.extract({ User u -> u.name } as Function, notEmpty),
+                    Validators.forEach({ User u -> u.nicknames } as Function, Validators.lift(notEmptyNoEffect)).exceptionally({ t -> Message.of("Boom") })
+            )
+        expect:
+            lines(Validators.describe(validator)) == [
+                    "merge",
+                    "  extract",
+                    "    leaf",
+                    "  exceptionally",
+                    "    extract",
+                    "      forEach",
+                    "        lift",
+                    "          leaf"
+            ]
+    }
+
+    def 'should fuse nested extractions while compiling'() {
+        given:
+            def validator = Validators.extract({ Company c -> c.owner } as Function,
+                    Validators.merge(
+                            Validators.extract({ User u -> u.name } as Function, notEmpty),
+                            Validator.neutral()
+                    ))
+            def compiled = Validators.compile(validator)
+        expect:
+            lines(Validators.describe(compiled)) == ["extract", "  leaf"]
+            compiled.validate(company).join() == validator.validate(company).join()
+        where:
+            company << [new Company(owner: new User(name: "")), new Company(owner: new User(name: "Jan"))]
+    }
+
+    def 'should compile lifted no effect validators and drop lifted neutral validator'() {
+        given:
+            def validator = Validators.merge(
+                    Validators.lift(dsinczak.fp.validation.javadsl.ne.Validator.neutral()),
+                    Validators.lift(dsinczak.fp.validation.javadsl.ne.Validators.merge(
+                            dsinczak.fp.validation.javadsl.ne.Validators.merge(notEmptyNoEffect, dsinczak.fp.validation.javadsl.ne.Validator.neutral()),
+                            dsinczak.fp.validation.javadsl.ne.Validators.extract({ String s -> s.trim() } as Function, notEmptyNoEffect)
+                    ))
+            )
+            def compiled = Validators.compile(validator)
+        expect:
+            lines(Validators.describe(compiled)) == [
+                    "lift",
+                    "  merge",
+                    "    leaf",
+                    "    extract",
+                    "      leaf"
+            ]
+            compiled.validate(value).join() == validator.validate(value).join()
+        where:
+            value << ["", " ", "Jan"]
+    }
+
+    def 'should compile validators wrapped with timeout, circuit breaker and execution policy keeping the wrappers'() {
+        given:
+            def breaker = CircuitBreaker.of(10, 50, Duration.ofSeconds(10))
+            def validator = Validators.merge(notEmpty, Validator.neutral())
+                    .withTimeout(Duration.ofSeconds(1))
+                    .withCircuitBreaker(breaker, ValidationResult.failed("Open"))
+                    .withPolicy(ExecutionPolicy.bulkhead(2, 0))
+            def compiled = Validators.compile(validator)
+        expect:
+            lines(Validators.describe(compiled)) == [
+                    "bulkhead(maxConcurrent=2, maxQueued=0)",
+                    "  circuitBreaker",
+                    "    timeout(PT1S)",
+                    "      leaf"
+            ]
+            compiled.validate(value).join() == validator.validate(value).join()
+            breaker.state() == CircuitBreaker.State.CLOSED
+        where:
+            value << ["", "Jan"]
+    }
+
+    def 'should rewrite leaves with custom rewriter'() {
+        given:
+            def calls = 0
+            def counting = new ValidatorRewriter() {
+                @Override
+                <T> Validator<?> visitLeaf(Validator<T> leaf) {
+                    return { T t -> calls++; leaf.validate(t) } as Validator<T>
+                }
+            }
+            def validator = counting.rewrite(Validators.forEach(Validators.merge(notEmpty, notEmpty)))
+        when:
+            def result = validator.validate(["", "a", "b"]).join()
+        then:
+            result == ValidationResult.failed("Empty", "Empty")
+            calls == 6
+    }
+
+    static List<String> lines(String description) {
+        description.readLines().collect { it.replaceAll(/leaf.*/, "leaf") }
+    }
+
+    Validator<String> notEmpty = { String s -> s.isEmpty() ? Validator.invalid("Empty") : Validator.valid() }
+
+    dsinczak.fp.validation.javadsl.ne.Validator<String> notEmptyNoEffect = { String s ->
+        s.isEmpty() ? ValidationResult.failed("Empty") : ValidationResult.success()
+    }
+
+    static class User {
+        String name
+        List<String> nicknames = []
+    }
+
+    static class Company {
+        User owner
+    }
+}
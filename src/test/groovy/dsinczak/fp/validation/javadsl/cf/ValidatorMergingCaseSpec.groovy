@@ -3,6 +3,10 @@ package dsinczak.fp.validation.javadsl.cf
 import dsinczak.fp.validation.javadsl.ValidationResult
 import spock.lang.Specification
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.TimeUnit
+
 
 class ValidatorMergingCaseSpec extends Specification {
 
@@ -42,6 +46,36 @@ class ValidatorMergingCaseSpec extends Specification {
             )
     }
 
+    def 'should merge results of validators completing in reverse order preserving validators order'() {
+        given:
+            def validators = (1..20).collect { i -> delayed(100 - i * 5, "Failure $i".toString()) }
+            def mergedValidator = Validators.merge(validators)
+        when:
+            def result = mergedValidator.validate(new User()).join()
+        then:
+            result.messages*.toString() == (1..20).collect { "Failure $it".toString() }
+    }
+
+    def 'should complete merged result exceptionally when any validator fails with exception'() {
+        given:
+            Validator<User> throwing = { User u -> CompletableFuture.failedFuture(new IllegalStateException("Boom")) }
+            def mergedValidator = Validators.merge(delayed(50, "Slow"), throwing)
+        when:
+            mergedValidator.validate(new User()).join()
+        then:
+            def ex = thrown(CompletionException)
+            ex.cause instanceof IllegalStateException
+    }
+
+    static Validator<User> delayed(long millis, String message) {
+        return { User u ->
+            CompletableFuture.supplyAsync(
+                    { ValidationResult.failed(message) },
+                    CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS)
+            )
+        }
+    }
+
     Validator<User> nameValidator = { User u ->
         if((u.name == null || u.name.isBlank()) || u.name.charAt(0).isLowerCase())
             return Validator.invalid("Name is a must and must start with capital letter")
@@ -0,0 +1,99 @@
+package dsinczak.fp.validation.javadsl.cf
+
+import dsinczak.fp.validation.javadsl.ValidationResult
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.function.BiConsumer
+
+class ValidatorShadowingCaseSpec extends Specification {
+
+    def executor = Executors.newFixedThreadPool(2)
+
+    // Shadow validations are started by caller thread, so in flight count is known right after validate returns
+    Executor direct = { Runnable task -> task.run() } as Executor
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def 'should succeed immediately and pass asynchronous shadow result to sink'() {
+        given:
+            def results = new ConcurrentLinkedQueue()
+            def done = new CountDownLatch(1)
+            Validator<Integer> remoteFraudCheck = { Integer amount -> CompletableFuture.supplyAsync({ fraudCheck(amount) }, executor) }
+            def shadow = Validators.shadow(remoteFraudCheck, executor, 10, { value, result -> results << [value, result]; done.countDown() } as BiConsumer)
+        when:
+            def result = shadow.validate(1_000_000).join()
+        then:
+            result == ValidationResult.success()
+            done.await(5, TimeUnit.SECONDS)
+            results.toList() == [[1_000_000, ValidationResult.failed("Suspicious amount")]]
+    }
+
+    def 'should drop shadow validations over in flight limit while futures are pending'() {
+        given:
+            def pending = []
+            def results = []
+            Validator<Integer> slow = { Integer i -> def future = new CompletableFuture(); pending << future; future }
+            def shadow = Validators.shadow(slow, direct, 3, { value, result -> results << value } as BiConsumer)
+        when:
+            def validations = (1..10).collect { shadow.validate(it).join() }
+        then:
+            validations.every { it.isSuccess() }
+            pending.size() == 3
+            shadow.inFlightCount() == 3
+            shadow.droppedCount() == 7
+            results.isEmpty()
+        when:
+            pending.each { it.complete(ValidationResult.success()) }
+        then:
+            shadow.inFlightCount() == 0
+            results == [1, 2, 3]
+    }
+
+    def 'should free in flight slot when shadow validation completes exceptionally'() {
+        given:
+            def pending = []
+            def results = []
+            Validator<Integer> slow = { Integer i -> def future = new CompletableFuture(); pending << future; future }
+            def shadow = Validators.shadow(slow, direct, 1, { value, result -> results << value } as BiConsumer)
+        when:
+            shadow.validate(1)
+            pending[0].completeExceptionally(new IllegalStateException("Remote check failed"))
+            shadow.validate(2)
+        then:
+            pending.size() == 2
+            shadow.inFlightCount() == 1
+            shadow.droppedCount() == 0
+            results.isEmpty()
+    }
+
+    def 'should expose shadowed and sampled validators in validator graph'() {
+        given:
+            def results = []
+            Validator<Integer> remoteFraudCheck = { Integer amount -> CompletableFuture.completedFuture(fraudCheck(amount)) }
+            def shadow = Validators.shadow(Validators.sampled(Validators.merge(remoteFraudCheck, Validator.neutral()), 1.0), direct, 10,
+                    { value, result -> results << result } as BiConsumer)
+            def compiled = Validators.compile(shadow)
+        when:
+            def result = compiled.validate(1_000_000).join()
+        then:
+            Validators.describe(compiled).readLines().collect { it.replaceAll(/leaf.*/, "leaf") } == [
+                    "shadow(maxInFlight=10)",
+                    "  sampled(rate=1.0)",
+                    "    leaf"
+            ]
+            result == ValidationResult.success()
+            results == [ValidationResult.failed("Suspicious amount")]
+    }
+
+    static ValidationResult fraudCheck(Integer amount) {
+        amount > 10_000 ? ValidationResult.failed("Suspicious amount") : ValidationResult.success()
+    }
+}
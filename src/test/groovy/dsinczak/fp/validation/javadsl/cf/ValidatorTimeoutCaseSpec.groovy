@@ -0,0 +1,151 @@
+package dsinczak.fp.validation.javadsl.cf
+
+import dsinczak.fp.validation.javadsl.Message
+import dsinczak.fp.validation.javadsl.ValidationResult
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeoutException
+import java.util.function.LongSupplier
+
+import static dsinczak.fp.validation.javadsl.cf.CircuitBreaker.State.CLOSED
+import static dsinczak.fp.validation.javadsl.cf.CircuitBreaker.State.HALF_OPEN
+import static dsinczak.fp.validation.javadsl.cf.CircuitBreaker.State.OPEN
+
+class ValidatorTimeoutCaseSpec extends Specification {
+
+    Executor direct = { Runnable task -> task.run() } as Executor
+
+    def 'should fail validation with timeout message when validator is too slow'() {
+        given:
+            Validator<String> hanging = { ignore -> new CompletableFuture() }
+            def validator = hanging.withTimeout(Duration.ofMillis(20), Message.of("Remote check timed out"))
+        when:
+            def result = validator.validate("anything").join()
+        then:
+            result == ValidationResult.failed("Remote check timed out")
+    }
+
+    def 'should complete exceptionally with timeout exception when no timeout message is given'() {
+        given:
+            Validator<String> hanging = { ignore -> new CompletableFuture() }
+        when:
+            hanging.withTimeout(Duration.ofMillis(20)).validate("anything").join()
+        then:
+            def ex = thrown(CompletionException)
+            ex.cause instanceof TimeoutException
+    }
+
+    def 'should let children see remaining budget of tree deadline'() {
+        given:
+            Duration seenBudget = null
+            Validator<String> budgetAware = { ignore ->
+                seenBudget = Deadline.current().map({ d -> d.remaining() }).orElse(null)
+                Validator.valid()
+            }
+            def validator = Validators.merge(budgetAware.withTimeout(Duration.ofMinutes(1), Message.of("Too slow")))
+                    .withDeadline(Duration.ofSeconds(1), Message.of("Deadline exceeded"))
+        when:
+            def result = validator.validate("anything").join()
+        then:
+            result == ValidationResult.success()
+            seenBudget != null
+            seenBudget <= Duration.ofSeconds(1)
+            !Deadline.current().isPresent()
+    }
+
+    def 'should time out whole tree when deadline is exceeded'() {
+        given:
+            Validator<String> hanging = { ignore -> new CompletableFuture() }
+            def validator = Validators.merge(hanging.withTimeout(Duration.ofMinutes(1), Message.of("Too slow")))
+                    .withDeadline(Duration.ofMillis(20), Message.of("Deadline exceeded"))
+        when:
+            def result = validator.validate("anything").join()
+        then:
+            result == ValidationResult.failed("Deadline exceeded")
+    }
+
+    def 'should open circuit breaker when failure rate is reached and close it after successful trial'() {
+        given:
+            def now = 0L
+            def transitions = []
+            def breaker = new CircuitBreaker(4, 50, Duration.ofSeconds(10), { now } as LongSupplier, direct)
+                    .onTransition({ from, to -> transitions << "$from->$to".toString() })
+            def calls = 0
+            def failing = true
+            Validator<String> remote = { ignore ->
+                calls++
+                failing ? CompletableFuture.failedFuture(new IllegalStateException("Down")) : Validator.valid()
+            }
+            def validator = remote.withCircuitBreaker(breaker, ValidationResult.failed("Service unavailable"))
+        when: 'window is filled with failures'
+            4.times { validator.validate("x") }
+        then:
+            breaker.state() == OPEN
+            calls == 4
+        when: 'breaker is open'
+            def result = validator.validate("x").join()
+        then:
+            result == ValidationResult.failed("Service unavailable")
+            calls == 4
+        when: 'open duration passes and trial succeeds'
+            now += Duration.ofSeconds(10).toNanos()
+            failing = false
+            def trial = validator.validate("x").join()
+        then:
+            trial == ValidationResult.success()
+            breaker.state() == CLOSED
+            transitions == ["$CLOSED->$OPEN", "$OPEN->$HALF_OPEN", "$HALF_OPEN->$CLOSED"]*.toString()
+    }
+
+    def 'should open circuit breaker again when trial does not complete within open duration'() {
+        given:
+            def now = 0L
+            def calls = 0
+            Validator<String> remote = { ignore -> calls++; calls <= 2 ? CompletableFuture.failedFuture(new IllegalStateException("Down")) : new CompletableFuture() }
+            def breaker = new CircuitBreaker(2, 50, Duration.ofSeconds(10), { now } as LongSupplier, direct)
+            def validator = remote.withCircuitBreaker(breaker, ValidationResult.failed("Service unavailable"))
+        when: 'breaker opens and trial hangs'
+            2.times { validator.validate("x") }
+            now += Duration.ofSeconds(10).toNanos()
+            validator.validate("x")
+        then:
+            breaker.state() == HALF_OPEN
+            calls == 3
+        when: 'trial is still pending after open duration'
+            now += Duration.ofSeconds(10).toNanos()
+            def result = validator.validate("x").join()
+        then:
+            result == ValidationResult.failed("Service unavailable")
+            breaker.state() == OPEN
+        when: 'open duration passes again'
+            now += Duration.ofSeconds(10).toNanos()
+            validator.validate("x")
+        then: 'next trial is let through'
+            calls == 4
+            breaker.state() == HALF_OPEN
+    }
+
+    def 'should notify transition listeners by listener executor after transition'() {
+        given:
+            def notifications = []
+            Executor queued = { Runnable task -> notifications << task } as Executor
+            def transitions = []
+            def breaker = new CircuitBreaker(1, 100, Duration.ofSeconds(10), { 0L } as LongSupplier, queued)
+                    .onTransition({ from, to -> transitions << "$from->$to".toString() })
+            Validator<String> failing = { ignore -> CompletableFuture.failedFuture(new IllegalStateException("Down")) }
+        when:
+            failing.withCircuitBreaker(breaker, ValidationResult.failed("Service unavailable")).validate("x")
+        then:
+            breaker.state() == OPEN
+            transitions.isEmpty()
+        when:
+            notifications.each { it.run() }
+        then:
+            transitions == ["$CLOSED->$OPEN".toString()]
+    }
+
+}
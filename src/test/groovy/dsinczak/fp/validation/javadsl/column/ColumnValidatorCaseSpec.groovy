@@ -0,0 +1,74 @@
+package dsinczak.fp.validation.javadsl.column
+
+import dsinczak.fp.validation.javadsl.Message
+import dsinczak.fp.validation.javadsl.Message.ParametrizedMessage
+import dsinczak.fp.validation.javadsl.ValidationResult
+import spock.lang.Specification
+
+class ColumnValidatorCaseSpec extends Specification {
+
+    enum Code implements ParametrizedMessage.Code<Code> {
+        AGE_OUT_OF_RANGE
+    }
+
+    enum Parm implements ParametrizedMessage.Parm<Parm> {
+        ROW
+    }
+
+    def 'should mark rows outside of range in failure bitmap'() {
+        given:
+            def ages = [34, -1, 20, 180, 150] as int[]
+            def validator = Columns.intRange(0, 150, { int row -> Message.of("Age at row $row is invalid".toString()) })
+        when:
+            def failures = validator.validate(ages)
+        then:
+            failures.failedRows() == BitSet.valueOf([0b1010L] as long[])
+            failures.failureCount() == 2
+            failures.toValidationResult() == ValidationResult.failed("Age at row 1 is invalid", "Age at row 3 is invalid")
+    }
+
+    def 'should validate columns longer than single bitmap word'() {
+        given:
+            def amounts = new double[130]
+            amounts[64] = Double.NaN
+            amounts[129] = -0.5d
+        when:
+            def failures = Columns.doubleAtLeast(0d, { int row -> Message.of("Bad amount") }).validate(amounts)
+        then:
+            failures.failedRows().stream().toArray() == [64, 129] as int[]
+    }
+
+    def 'should materialize parametrized messages with row index only for failed rows'() {
+        given:
+            def validator = Columns.longAtMost(10L, Columns.rowMessage(Code.AGE_OUT_OF_RANGE, Parm.ROW))
+        when:
+            def result = validator.validate([1L, 11L, 5L] as long[]).toValidationResult()
+        then:
+            result == ValidationResult.failed(Code.AGE_OUT_OF_RANGE, Parm.ROW, 1)
+    }
+
+    def 'should merge rules and return success when no row fails'() {
+        given:
+            ColumnValidator<String[]> notNull = Columns.notNull({ int row -> Message.of("Required") })
+            def validator = notNull.merge(Columns.notNull({ int row -> Message.of("Still required") }))
+        when:
+            def failures = validator.validate(["a", "b"] as String[])
+        then:
+            failures.isSuccess()
+            failures.toValidationResult() == ValidationResult.success()
+    }
+
+    def 'should report every failed rule when merged'() {
+        given:
+            def validator = Columns.merge(
+                    Columns.intAtLeast(0, { int row -> Message.of("Negative") }),
+                    Columns.intAtMost(100, { int row -> Message.of("Too big") })
+            )
+        when:
+            def failures = validator.validate([-5, 50, 500] as int[])
+        then:
+            failures.failedRows().cardinality() == 2
+            failures.toValidationResult() == ValidationResult.failed("Negative", "Too big")
+    }
+
+}
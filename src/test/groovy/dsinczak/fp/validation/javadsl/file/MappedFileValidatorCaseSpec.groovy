@@ -0,0 +1,64 @@
+package dsinczak.fp.validation.javadsl.file
+
+import dsinczak.fp.validation.javadsl.ValidationResult
+import dsinczak.fp.validation.javadsl.cf.Validator
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentLinkedQueue
+
+class MappedFileValidatorCaseSpec extends Specification {
+
+    dsinczak.fp.validation.javadsl.ne.Validator<String[]> ageValidator = { String[] record ->
+        Integer.parseInt(record[1]) < 0
+                ? ValidationResult.failed("Age of ${record[0]} must not be negative".toString())
+                : ValidationResult.success()
+    }
+
+    @Unroll
+    def 'should report failed lines with line number and byte offset (chunk size: #chunkSize)'() {
+        given:
+            def file = Files.createTempFile("customers", ".csv")
+            Files.writeString(file, "name;age\nDamian;34\r\nKinga;-1\n\nOliwier;-5")
+            def failures = new ConcurrentLinkedQueue<LineFailure>()
+        when:
+            def failed = MappedFileValidator.of({ Line line -> line.fields(';' as char) }, ageValidator)
+                    .skipHeader()
+                    .withChunkSize(chunkSize)
+                    .validate(file, { f -> failures.add(f) })
+        then:
+            failed == 2
+            failures.sort { it.lineNumber } == [
+                    new LineFailure(20, 3, ValidationResult.failed("Age of Kinga must not be negative")),
+                    new LineFailure(30, 5, ValidationResult.failed("Age of Oliwier must not be negative"))
+            ]
+        cleanup:
+            Files.deleteIfExists(file)
+        where:
+            chunkSize << [1024, 10, 1]
+    }
+
+    def 'should validate lines with asynchronous validator'() {
+        given:
+            def file = Files.createTempFile("events", ".ndjson")
+            Files.writeString(file, (1..1000).collect { "{\"id\": $it}" }.join("\n"))
+            Validator<String> validator = { String json ->
+                CompletableFuture.supplyAsync({
+                    json.contains(": 13}") ? ValidationResult.failed("Unlucky") : ValidationResult.success()
+                })
+            }
+            def failures = new ConcurrentLinkedQueue<LineFailure>()
+        when:
+            def failed = MappedFileValidator.ofAsync({ Line line -> line.asString() }, validator)
+                    .withMaxInFlight(8)
+                    .validate(file, { f -> failures.add(f) })
+        then:
+            failed == 1
+            failures*.lineNumber == [13L]
+        cleanup:
+            Files.deleteIfExists(file)
+    }
+
+}
@@ -0,0 +1,95 @@
+package dsinczak.fp.validation.javadsl.ne
+
+import dsinczak.fp.validation.javadsl.Message
+import dsinczak.fp.validation.javadsl.ValidationResult
+import spock.lang.Specification
+
+class IncrementalValidatorCaseSpec extends Specification {
+
+    def nameValidations = 0
+    def addressValidations = 0
+
+    Validator<String> nameValidator = { String name ->
+        nameValidations++
+        name.isBlank() ? ValidationResult.failed("Name is required") : ValidationResult.success()
+    }
+
+    Validator<String> addressValidator = { String address ->
+        addressValidations++
+        address.startsWith("Death Star") ? ValidationResult.failed("Nobody lives there") : ValidationResult.success()
+    }
+
+    IncrementalValidator<Customer> customerValidator = Validators.incremental({ Customer c -> c.id }, 100)
+            .extract({ Customer c -> c.name }, nameValidator)
+            .ifExistsOrElse({ Customer c -> c.address }, addressValidator, Message.of("Address is required"))
+
+    def 'should re-validate only changed parts of aggregate'() {
+        given:
+            customerValidator.validate(new Customer(id: 1, name: "", address: "Death Star #4"))
+        when:
+            def result = customerValidator.validate(new Customer(id: 1, name: "Luke", address: "Death Star #4"))
+        then:
+            result == ValidationResult.failed("Nobody lives there")
+            nameValidations == 2
+            addressValidations == 1
+    }
+
+    def 'should keep results of different aggregates apart'() {
+        when:
+            customerValidator.validate(new Customer(id: 1, name: "Luke", address: "Tatooine"))
+            def result = customerValidator.validate(new Customer(id: 2, name: "Luke", address: "Tatooine"))
+        then:
+            result == ValidationResult.success()
+            nameValidations == 2
+            addressValidations == 2
+    }
+
+    def 'should fully validate aggregate again after invalidation'() {
+        given:
+            def customer = new Customer(id: 1, name: "Luke", address: null)
+            customerValidator.validate(customer)
+        when:
+            customerValidator.invalidate(customer)
+            def result = customerValidator.validate(customer)
+        then:
+            result == ValidationResult.failed("Address is required")
+            nameValidations == 2
+    }
+
+    def 'should evict least recently validated aggregates when store is full'() {
+        given:
+            def validator = Validators.incremental({ Customer c -> c.id }, 1)
+                    .extract({ Customer c -> c.name }, nameValidator)
+        when:
+            validator.validate(new Customer(id: 1, name: "Luke"))
+            validator.validate(new Customer(id: 2, name: "Leia"))
+            validator.validate(new Customer(id: 1, name: "Luke"))
+        then:
+            nameValidations == 3
+    }
+
+    def 'should expose parts in validator graph and stay incremental when compiled'() {
+        given:
+            def compiled = Validators.compile(customerValidator)
+            def customer = new Customer(id: 1, name: "", address: null)
+        when:
+            def results = [compiled.validate(customer), compiled.validate(customer)]
+        then:
+            Validators.describe(compiled).readLines().collect { it.replaceAll(/leaf.*/, "leaf") } == [
+                    "incremental(capacity=100)",
+                    "  extract",
+                    "    leaf",
+                    "  ifExistsOrElse[Address is required]",
+                    "    leaf"
+            ]
+            results.every { it == ValidationResult.failed("Name is required", "Address is required") }
+            nameValidations == 1
+    }
+
+    static class Customer {
+        Integer id
+        String name
+        String address
+    }
+
+}
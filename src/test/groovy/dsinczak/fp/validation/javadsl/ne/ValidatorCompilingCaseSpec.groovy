@@ -0,0 +1,97 @@
+package dsinczak.fp.validation.javadsl.ne
+
+import dsinczak.fp.validation.javadsl.ValidationContext
+import dsinczak.fp.validation.javadsl.ValidationResult
+import spock.lang.Specification
+
+import java.util.function.Function
+
+class ValidatorCompilingCaseSpec extends Specification {
+
+    def 'should flatten nested merges and drop neutral validators'() {
+        given:
+            def tree = Validators.merge(
+                    Validators.merge(notEmpty, Validator.neutral()),
+                    Validators.merge(notLong, Validators.merge(notEmpty))
+            )
+        when:
+            def compiled = Validators.compile(tree)
+        then:
+            compiled instanceof CompiledValidator
+            ((MergedValidator) ((CompiledValidator) compiled).interpreted()).validators() == [notEmpty, notLong, notEmpty]
+    }
+
+    def 'should generate validators of merges and extractions keeping graph of the tree'() {
+        given:
+            def tree = Validators.merge(
+                    Validators.mergeFailFast(notEmpty, notLong),
+                    Validators.extract({ String s -> s.trim() } as java.util.function.Function, notLong)
+            )
+        when:
+            def compiled = Validators.compile(tree)
+        then:
+            compiled instanceof CompiledValidator
+            Validators.describe(compiled) == Validators.describe(tree)
+            ["", "ab", " abcd ", "abcdef"].every { compiled.validate(it) == tree.validate(it) }
+    }
+
+    def 'should leave merge too big to be unrolled interpreted'() {
+        given:
+            def tree = Validators.merge((1..40).collect { it % 2 ? notEmpty : notLong })
+        when:
+            def compiled = Validators.compile(tree)
+        then:
+            compiled instanceof MergedValidator
+            compiled.validate("abcdef") == tree.validate("abcdef")
+    }
+
+    def 'should return the same validation results as not compiled tree'() {
+        given:
+            def tree = Validators.merge(
+                    Validators.mergeFailFast(notEmpty, Validators.mergeFailFast(notLong, Validator.neutral())),
+                    Validators.merge(notLong)
+            )
+            def compiled = Validators.compile(tree)
+        expect:
+            compiled.validate(value) == tree.validate(value)
+        where:
+            value << ["", "abc", "abcdef"]
+    }
+
+    def 'should give accumulator back to validation context when child of generated merge throws'() {
+        given:
+            Validator<String> failing = { String s -> throw new IllegalStateException("Boom") }
+            def compiled = Validators.compile(Validators.merge(notEmpty, notEmpty, failing))
+            def context = ValidationContext.current()
+            // make sure there is accumulator in the pool to be taken
+            Validators.compile(Validators.merge(notEmpty, notEmpty)).validate("")
+            def pooled = context.pooledCount()
+        when:
+            compiled.validate("")
+        then:
+            thrown(IllegalStateException)
+            context.pooledCount() == pooled
+    }
+
+    def 'should reuse generated validators when the same tree is compiled again'() {
+        given:
+            def tree = Validators.merge(notEmpty, Validators.extract({ String s -> s.trim() } as Function, notLong))
+        expect:
+            Validators.compile(tree).is(Validators.compile(tree))
+    }
+
+    def 'should replace merge without validators with neutral validator'() {
+        expect:
+            Validators.compile(Validators.merge(Validator.neutral(), Validator.neutral())).is(Validator.neutral())
+    }
+
+    def 'should leave validators it does not know untouched'() {
+        expect:
+            Validators.compile(notEmpty).is(notEmpty)
+    }
+
+    Validator<String> notEmpty = { String s -> s.isEmpty() ? ValidationResult.failed("Empty") : ValidationResult.success() }
+
+    Validator<String> notLong = { String s -> s.length() > 3 ? ValidationResult.failed("Too long") : ValidationResult.success() }
+
+}
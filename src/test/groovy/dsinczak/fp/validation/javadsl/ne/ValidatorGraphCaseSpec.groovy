@@ -0,0 +1,87 @@
+package dsinczak.fp.validation.javadsl.ne
+
+import dsinczak.fp.validation.javadsl.Message
+import dsinczak.fp.validation.javadsl.ValidationResult
+import spock.lang.Specification
+
+import java.util.function.Function
+
+class ValidatorGraphCaseSpec extends Specification {
+
+    def 'should describe validator graph built with combinators'() {
+        given:
+            def validator = Validators.merge(
+                    Validators.extract({ User u -> u.name } as Function, notEmpty),
+                    Validators.forEach({ User u -> u.nicknames } as Function, notEmpty).exceptionally({ t -> Message.of("Boom") })
+            )
+        expect:
+            lines(Validators.describe(validator)) == [
+                    "merge",
+                    "  extract",
+                    "    leaf",
+                    "  exceptionally",
+                    "    extract",
+                    "      forEach",
+                    "        leaf"
+            ]
+    }
+
+    def 'should fuse nested extractions while compiling'() {
+        given:
+            def validator = Validators.extract({ Company c -> c.owner } as Function,
+                    Validators.merge(
+                            Validators.extract({ User u -> u.name } as Function, notEmpty),
+                            Validator.neutral()
+                    ))
+            def compiled = Validators.compile(validator)
+        expect:
+            lines(Validators.describe(compiled)) == ["extract", "  leaf"]
+            compiled.validate(company) == validator.validate(company)
+        where:
+            company << [new Company(owner: new User(name: "")), new Company(owner: new User(name: "Jan"))]
+    }
+
+    def 'should fuse ifExists nested in extraction while compiling'() {
+        given:
+            def validator = Validators.extract({ Company c -> c.owner } as Function,
+                    Validators.ifExistsOrElse({ User u -> u.name } as Function, notEmpty, Message.of("No name")))
+            def compiled = Validators.compile(validator)
+        expect:
+            lines(Validators.describe(compiled)) == ["ifExistsOrElse[No name]", "  leaf"]
+            compiled.validate(company) == validator.validate(company)
+        where:
+            company << [new Company(owner: new User()), new Company(owner: new User(name: "")), new Company(owner: new User(name: "Jan"))]
+    }
+
+    def 'should rewrite leaves with custom rewriter'() {
+        given:
+            def calls = 0
+            def counting = new ValidatorRewriter() {
+                @Override
+                <T> Validator<?> visitLeaf(Validator<T> leaf) {
+                    return { T t -> calls++; leaf.validate(t) } as Validator<T>
+                }
+            }
+            def validator = counting.rewrite(Validators.forEach(Validators.merge(notEmpty, notEmpty)))
+        when:
+            def result = validator.validate(["", "a", "b"])
+        then:
+            result == ValidationResult.failed("Empty", "Empty")
+            calls == 6
+    }
+
+    static List<String> lines(String description) {
+        description.readLines().collect { it.replaceAll(/leaf.*/, "leaf") }
+    }
+
+    Validator<String> notEmpty = { String s -> s.isEmpty() ? ValidationResult.failed("Empty") : ValidationResult.success() }
+
+    static class User {
+        String name
+        List<String> nicknames = []
+    }
+
+    static class Company {
+        User owner
+    }
+}
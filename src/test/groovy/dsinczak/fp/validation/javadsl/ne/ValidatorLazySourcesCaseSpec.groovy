@@ -0,0 +1,54 @@
+package dsinczak.fp.validation.javadsl.ne
+
+import dsinczak.fp.validation.javadsl.ValidationResult
+import spock.lang.Specification
+
+import java.util.function.Function
+import java.util.function.UnaryOperator
+import java.util.stream.IntStream
+import java.util.stream.Stream
+
+class ValidatorLazySourcesCaseSpec extends Specification {
+
+    def 'should validate all elements of stream'() {
+        expect:
+            Validators.forEachInStream(lessThanFive).validate(IntStream.range(0, 7).boxed()) ==
+                    ValidationResult.failed("Too big: 5", "Too big: 6")
+    }
+
+    def 'should stop pulling elements of infinite sources at first failure in fail fast mode'() {
+        expect:
+            Validators.forEachFailFastInStream(lessThanFive).validate(naturals()) == ValidationResult.failed("Too big: 5")
+            Validators.forEachFailFastInIterator(lessThanFive).validate(naturals().iterator()) == ValidationResult.failed("Too big: 5")
+            Validators.forEachFailFastInSpliterator(lessThanFive).validate(naturals().spliterator()) == ValidationResult.failed("Too big: 5")
+    }
+
+    def 'should pull elements lazily one by one'() {
+        given:
+            def pulled = []
+            def iterator = naturals().peek { pulled << it }.iterator()
+        when:
+            Validators.forEachFailFastInIterator(lessThanFive).validate(iterator)
+        then:
+            pulled == [0, 1, 2, 3, 4, 5]
+            iterator.next() == 6
+    }
+
+    def 'should validate arrays'() {
+        expect:
+            Validators.forEachInArray(lessThanFive).validate([1, 7, 8] as Integer[]) == ValidationResult.failed("Too big: 7", "Too big: 8")
+            Validators.forEachFailFastInArray(lessThanFive).validate([1, 7, 8] as Integer[]) == ValidationResult.failed("Too big: 7")
+            Validators.forEachInArray({ Order o -> o.quantities } as Function, lessThanFive).validate(new Order(quantities: [3, 9] as Integer[])) ==
+                    ValidationResult.failed("Too big: 9")
+    }
+
+    static Stream<Integer> naturals() {
+        Stream.iterate(0, { it + 1 } as UnaryOperator)
+    }
+
+    Validator<Integer> lessThanFive = { Integer i -> i < 5 ? ValidationResult.success() : ValidationResult.failed("Too big: $i".toString()) }
+
+    static class Order {
+        Integer[] quantities
+    }
+}
@@ -0,0 +1,89 @@
+package dsinczak.fp.validation.javadsl.ne
+
+import dsinczak.fp.validation.javadsl.ValidationResult
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.function.BiConsumer
+
+class ValidatorShadowingCaseSpec extends Specification {
+
+    def executor = Executors.newFixedThreadPool(2)
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def 'should succeed immediately and pass shadow result to sink'() {
+        given:
+            def results = new ConcurrentLinkedQueue()
+            def done = new CountDownLatch(1)
+            def shadow = Validators.shadow(fraudCheck, executor, 10, { value, result -> results << [value, result]; done.countDown() } as BiConsumer)
+        when:
+            def result = shadow.validate(1_000_000)
+        then:
+            result == ValidationResult.success()
+            done.await(5, TimeUnit.SECONDS)
+            results.toList() == [[1_000_000, ValidationResult.failed("Suspicious amount")]]
+    }
+
+    def 'should drop shadow validations over in flight limit'() {
+        given:
+            def release = new CountDownLatch(1)
+            Validator<Integer> blocking = { Integer i -> release.await(); ValidationResult.success() }
+            def shadow = Validators.shadow(blocking, executor, 3, { value, result -> } as BiConsumer)
+        when:
+            def results = (1..10).collect { shadow.validate(it) }
+        then:
+            results.every { it.isSuccess() }
+            shadow.inFlightCount() == 3
+            shadow.droppedCount() == 7
+        cleanup:
+            release.countDown()
+    }
+
+    def 'should validate only sampled fraction of values'() {
+        given:
+            def calls = 0
+            def sampled = Validators.sampled({ Integer i -> calls++; fraudCheck.validate(i) } as Validator<Integer>, rate)
+        when:
+            (1..10_000).each { sampled.validate(1_000_000) }
+        then:
+            calls >= expectedMin && calls <= expectedMax
+        where:
+            rate | expectedMin | expectedMax
+            0.0  | 0           | 0
+            0.1  | 800         | 1200
+            1.0  | 10_000      | 10_000
+    }
+
+    def 'should reject sampling rate out of range'() {
+        when:
+            Validators.sampled(fraudCheck, 1.5)
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    def 'should expose shadowed and sampled validators in validator graph'() {
+        given:
+            def results = new ConcurrentLinkedQueue()
+            def done = new CountDownLatch(1)
+            def shadow = Validators.shadow(Validators.sampled(Validators.merge(fraudCheck, Validator.neutral()), 1.0), executor, 10,
+                    { value, result -> results << result; done.countDown() } as BiConsumer)
+            def compiled = Validators.compile(shadow)
+        expect:
+            Validators.describe(compiled).readLines().collect { it.replaceAll(/leaf.*/, "leaf") } == [
+                    "shadow(maxInFlight=10)",
+                    "  sampled(rate=1.0)",
+                    "    leaf"
+            ]
+            compiled.validate(1_000_000) == ValidationResult.success()
+            done.await(5, TimeUnit.SECONDS)
+            results.toList() == [ValidationResult.failed("Suspicious amount")]
+    }
+
+    Validator<Integer> fraudCheck = { Integer amount -> amount > 10_000 ? ValidationResult.failed("Suspicious amount") : ValidationResult.success() }
+}